@@ -0,0 +1,107 @@
+package com.component.benchmark;
+
+import com.component.ComponentServiceApplication;
+import com.component.dto.ComponentDto;
+import com.component.model.ComponentEntity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+final class BenchmarkData {
+
+    private static final String H2_URL =
+            "jdbc:h2:mem:bench;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+
+    // same value as app.jwt.secret in application.properties
+    static final String SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef";
+
+    private BenchmarkData() { }
+
+    /**
+     * Boots the whole service on a random port, against in-memory H2 unless
+     * -Dspring.datasource.url (plus username and password) points at a real database.
+     */
+    static ConfigurableApplicationContext startService() {
+        List<String> appArgs = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.flyway.enabled=true",
+                // synthetic owners send far more than a real client; measure the service, not the budgets
+                "--app.ratelimit.enabled=" + Boolean.getBoolean("bench.ratelimit"),
+                "--logging.level.root=WARN"));
+        if (System.getProperty("spring.datasource.url") == null) {
+            appArgs.add("--spring.datasource.url=" + H2_URL);
+            appArgs.add("--spring.datasource.username=sa");
+            appArgs.add("--spring.datasource.password=");
+        }
+        return new SpringApplication(ComponentServiceApplication.class).run(appArgs.toArray(String[]::new));
+    }
+
+    static String token(long ownerUserId, Duration validFor) {
+        return Jwts.builder()
+                .claim("ownerUserId", ownerUserId)
+                .expiration(Date.from(Instant.now().plus(validFor)))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    static ComponentEntity entity(long id) {
+        ComponentEntity entity = new ComponentEntity();
+        entity.setId(id);
+        entity.setOwnerUserId(1L);
+        entity.setName("Ballista " + id);
+        entity.setType(id % 2 == 0 ? "Weapon" : "Hull");
+        entity.setHealth(50);
+        entity.setDamageThreshold(10);
+        entity.setArmorClass(15);
+        entity.setDescription("Ranged Weapon Attack: +5 to hit, range 200/800 ft. Hit: 27 (5d10) bludgeoning damage.");
+        entity.setVersion(id % 7);
+        return entity;
+    }
+
+    static ComponentDto dto(long id) {
+        ComponentDto dto = new ComponentDto();
+        dto.setId(id);
+        dto.setOwnerUserId(1L);
+        dto.setName("Ballista " + id);
+        dto.setType(id % 2 == 0 ? "Weapon" : "Hull");
+        dto.setHealth(50);
+        dto.setDamageThreshold(10);
+        dto.setArmorClass(15);
+        dto.setDescription("Ranged Weapon Attack: +5 to hit, range 200/800 ft. Hit: 27 (5d10) bludgeoning damage.");
+        dto.setVersion(id % 7);
+        return dto;
+    }
+
+    static List<ComponentEntity> entities(int size) {
+        List<ComponentEntity> entities = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) entities.add(entity(i));
+        return entities;
+    }
+
+    /** Mapper for one of the negotiated response formats: json, cbor or smile. */
+    static ObjectMapper mapper(String format) {
+        return switch (format) {
+            case "json" -> new ObjectMapper();
+            case "cbor" -> new ObjectMapper(new CBORFactory());
+            case "smile" -> new ObjectMapper(new SmileFactory());
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+    }
+
+    static List<ComponentDto> dtos(int size) {
+        List<ComponentDto> dtos = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) dtos.add(dto(i));
+        return dtos;
+    }
+}
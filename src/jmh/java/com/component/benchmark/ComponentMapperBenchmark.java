@@ -0,0 +1,61 @@
+package com.component.benchmark;
+
+import com.component.dto.ComponentDto;
+import com.component.mapper.ComponentMapper;
+import com.component.model.ComponentEntity;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComponentMapperBenchmark {
+
+    private final ComponentMapper mapper = Mappers.getMapper(ComponentMapper.class);
+
+    @State(Scope.Benchmark)
+    public static class Single {
+        ComponentEntity entity;
+        ComponentDto dto;
+
+        @Setup
+        public void setUp() {
+            entity = BenchmarkData.entity(5);
+            dto = BenchmarkData.dto(5);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Lists {
+        @Param({"10", "1000", "10000"})
+        int size;
+
+        List<ComponentEntity> entities;
+
+        @Setup
+        public void setUp() {
+            entities = BenchmarkData.entities(size);
+        }
+    }
+
+    @Benchmark
+    public ComponentDto toDto(Single state) {
+        return mapper.toDto(state.entity);
+    }
+
+    @Benchmark
+    public ComponentEntity toEntity(Single state) {
+        return mapper.toEntity(state.dto);
+    }
+
+    @Benchmark
+    public List<ComponentDto> toDtoList(Lists state) {
+        return mapper.toDto(state.entities);
+    }
+}
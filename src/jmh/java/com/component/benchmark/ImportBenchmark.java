@@ -0,0 +1,145 @@
+package com.component.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bulk import and export throughput: boots the whole service (H2 unless -Dspring.datasource.*
+ * points at a real database), streams bench.rows generated components to POST /import as
+ * NDJSON and then reads them all back through GET /export. Both are reported in rows per second.
+ * <p>
+ * Tuning via system properties: bench.rows (default one million) and bench.report (JSON output file).
+ * Against PostgreSQL the import goes through COPY, elsewhere through batched inserts.
+ */
+public final class ImportBenchmark {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final long OWNER = 1;
+
+    public static void main(String[] args) throws Exception {
+        long rows = Long.getLong("bench.rows", 1_000_000);
+        Path report = Path.of(System.getProperty("bench.report", "import-benchmark.json"));
+        HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        String token = BenchmarkData.token(OWNER, Duration.ofHours(4));
+
+        try (ConfigurableApplicationContext context = BenchmarkData.startService()) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+            System.out.printf("Importing %d rows%n", rows);
+            long start = System.nanoTime();
+            HttpResponse<String> imported = http.send(
+                    HttpRequest.newBuilder(URI.create(baseUrl + "/import"))
+                            .header("Authorization", "Bearer " + token)
+                            .header("Content-Type", "application/x-ndjson")
+                            .timeout(Duration.ofMinutes(30))
+                            .POST(HttpRequest.BodyPublishers.ofInputStream(() -> new GeneratedRows(rows)))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+            double importSeconds = (System.nanoTime() - start) / 1e9;
+            if (imported.statusCode() != 200) {
+                throw new IllegalStateException("Import failed with status " + imported.statusCode()
+                        + ": " + imported.body());
+            }
+
+            System.out.println("Exporting");
+            start = System.nanoTime();
+            HttpResponse<InputStream> exported = http.send(
+                    HttpRequest.newBuilder(URI.create(baseUrl + "/export"))
+                            .header("Authorization", "Bearer " + token)
+                            .timeout(Duration.ofMinutes(30))
+                            .GET()
+                            .build(),
+                    HttpResponse.BodyHandlers.ofInputStream());
+            long exportedRows;
+            try (InputStream body = exported.body()) {
+                exportedRows = countLines(body);
+            }
+            double exportSeconds = (System.nanoTime() - start) / 1e9;
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("rows", rows);
+            result.put("importSeconds", importSeconds);
+            result.put("importRowsPerSecond", rows / importSeconds);
+            result.put("exportedRows", exportedRows);
+            result.put("exportSeconds", exportSeconds);
+            result.put("exportRowsPerSecond", exportedRows / exportSeconds);
+
+            System.out.printf("%-8s %10s %10s %12s%n", "", "rows", "seconds", "rows/s");
+            System.out.printf("%-8s %10d %10.2f %12.0f%n", "import", rows, importSeconds, rows / importSeconds);
+            System.out.printf("%-8s %10d %10.2f %12.0f%n", "export", exportedRows, exportSeconds,
+                    exportedRows / exportSeconds);
+
+            Files.createDirectories(report.toAbsolutePath().getParent());
+            JSON.writerWithDefaultPrettyPrinter().writeValue(report.toFile(), result);
+            System.out.println("Report written to " + report.toAbsolutePath());
+        }
+    }
+
+    private static long countLines(InputStream in) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        long lines = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            for (int i = 0; i < read; i++) {
+                if (buffer[i] == '\n') lines++;
+            }
+        }
+        return lines;
+    }
+
+    /** NDJSON body produced line by line, so a million rows never sit in memory at once. */
+    private static final class GeneratedRows extends InputStream {
+        private final long rows;
+        private long next;
+        private byte[] line = new byte[0];
+        private int pos;
+
+        GeneratedRows(long rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!fill()) return -1;
+            return line[pos++] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) return 0;
+            int written = 0;
+            while (written < len && fill()) {
+                int n = Math.min(len - written, line.length - pos);
+                System.arraycopy(line, pos, b, off + written, n);
+                pos += n;
+                written += n;
+            }
+            return written == 0 ? -1 : written;
+        }
+
+        private boolean fill() {
+            if (pos < line.length) return true;
+            if (next == rows) return false;
+            long n = next++;
+            line = ("{\"name\":\"Ballista " + n + "\",\"type\":\"" + (n % 2 == 0 ? "Weapon" : "Hull")
+                    + "\",\"health\":50,\"damageThreshold\":10,\"armorClass\":15,"
+                    + "\"description\":\"Ranged Weapon Attack: +5 to hit, range 200/800 ft.\"}\n")
+                    .getBytes(StandardCharsets.UTF_8);
+            pos = 0;
+            return true;
+        }
+    }
+}
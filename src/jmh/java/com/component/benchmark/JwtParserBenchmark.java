@@ -0,0 +1,36 @@
+package com.component.benchmark;
+
+import com.component.auth.JwtParserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtParserBenchmark {
+
+    private JwtParserService parser;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        parser = new JwtParserService(BenchmarkData.SECRET, 10_000, Duration.ofHours(1), new SimpleMeterRegistry());
+        token = BenchmarkData.token(42L, Duration.ofHours(1));
+    }
+
+    @Benchmark
+    public Long parseOwnerUserId() {
+        return parser.parseOwnerUserId(token);
+    }
+
+    @Benchmark
+    public Long resolveOwnerUserIdCached() {
+        return parser.resolveOwnerUserId(token);
+    }
+}
@@ -0,0 +1,230 @@
+package com.component.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * End-to-end load test: boots the whole service against an in-memory H2 database in
+ * PostgreSQL mode (or any database given through -Dspring.datasource.*) and drives a mixed
+ * read/write workload over HTTP for many synthetic owners with signed tokens.
+ * <p>
+ * Tuning via system properties: bench.duration, bench.warmup (seconds), bench.owners,
+ * bench.components-per-owner, bench.concurrency, bench.report (JSON output file) and
+ * bench.ratelimit (keep the per-owner rate limit on, off by default).
+ */
+public final class LoadBenchmark {
+
+    enum Operation {
+        LIST("GET /", 45),
+        GET("GET /{componentId}", 25),
+        PAGE("GET /page", 10),
+        UPDATE("PUT /{componentId}", 10),
+        PATCH("PATCH /{componentId}", 5),
+        CREATE("POST /", 5);
+
+        final String endpoint;
+        final int weight;
+
+        Operation(String endpoint, int weight) {
+            this.endpoint = endpoint;
+            this.weight = weight;
+        }
+    }
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final String baseUrl;
+    private final String[] tokens;
+    private final long[][] componentIds;
+
+    private LoadBenchmark(String baseUrl, int owners) {
+        this.baseUrl = baseUrl;
+        this.tokens = new String[owners];
+        this.componentIds = new long[owners][];
+        for (int i = 0; i < owners; i++) {
+            tokens[i] = BenchmarkData.token(i + 1, Duration.ofHours(4));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Duration duration = Duration.ofSeconds(Long.getLong("bench.duration", 30));
+        Duration warmup = Duration.ofSeconds(Long.getLong("bench.warmup", 10));
+        int owners = Integer.getInteger("bench.owners", 500);
+        int componentsPerOwner = Integer.getInteger("bench.components-per-owner", 20);
+        int concurrency = Integer.getInteger("bench.concurrency", 64);
+        Path report = Path.of(System.getProperty("bench.report", "load-benchmark.json"));
+
+        try (ConfigurableApplicationContext context = BenchmarkData.startService()) {
+            String port = context.getEnvironment().getProperty("local.server.port");
+            LoadBenchmark benchmark = new LoadBenchmark("http://localhost:" + port, owners);
+            benchmark.seed(componentsPerOwner);
+
+            System.out.printf("Warming up for %ds with %d workers%n", warmup.toSeconds(), concurrency);
+            benchmark.run(warmup, concurrency);
+            System.out.printf("Measuring for %ds with %d workers%n", duration.toSeconds(), concurrency);
+            Map<Operation, Result> results = benchmark.run(duration, concurrency);
+
+            print(results, duration);
+            write(results, duration, report);
+        }
+    }
+
+    private void seed(int componentsPerOwner) throws IOException, InterruptedException {
+        for (int owner = 0; owner < tokens.length; owner++) {
+            List<Object> dtos = new ArrayList<>(componentsPerOwner);
+            for (int i = 0; i < componentsPerOwner; i++) dtos.add(component(i));
+            HttpResponse<String> response = http.send(
+                    request(owner, "/bulk").POST(json(dtos)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding failed with status " + response.statusCode());
+            }
+            List<Map<String, Object>> items = JSON.readValue(response.body(), new TypeReference<>() { });
+            componentIds[owner] = items.stream().mapToLong(item -> ((Number) item.get("id")).longValue()).toArray();
+        }
+    }
+
+    private Map<Operation, Result> run(Duration length, int concurrency) throws InterruptedException {
+        Map<Operation, Result> results = new EnumMap<>(Operation.class);
+        for (Operation op : Operation.values()) results.put(op, new Result());
+
+        long deadline = System.nanoTime() + length.toNanos();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                workers.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        Operation op = pick();
+                        HttpRequest request = build(op);
+                        long start = System.nanoTime();
+                        int status;
+                        try {
+                            status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (IOException e) {
+                            status = -1;
+                        }
+                        results.get(op).record(System.nanoTime() - start, status >= 200 && status < 300);
+                    }
+                    return null;
+                });
+            }
+        }
+        return results;
+    }
+
+    private static Operation pick() {
+        int roll = ThreadLocalRandom.current().nextInt(100);
+        for (Operation op : Operation.values()) {
+            if (roll < op.weight) return op;
+            roll -= op.weight;
+        }
+        return Operation.LIST;
+    }
+
+    private HttpRequest build(Operation op) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int owner = random.nextInt(tokens.length);
+        long[] ids = componentIds[owner];
+        long id = ids[random.nextInt(ids.length)];
+        return switch (op) {
+            case LIST -> request(owner, "/").GET().build();
+            case GET -> request(owner, "/" + id).GET().build();
+            case PAGE -> request(owner, "/page?limit=10").GET().build();
+            case UPDATE -> request(owner, "/" + id).PUT(json(component(random.nextInt(1000)))).build();
+            case PATCH -> request(owner, "/" + id)
+                    .header("Content-Type", "application/merge-patch+json")
+                    .method("PATCH", json(Map.of("health", random.nextInt(1, 100))))
+                    .build();
+            case CREATE -> request(owner, "/").POST(json(component(random.nextInt(1000)))).build();
+        };
+    }
+
+    private HttpRequest.Builder request(int owner, String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + tokens[owner])
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30));
+    }
+
+    private static Map<String, Object> component(int n) {
+        Map<String, Object> dto = new LinkedHashMap<>();
+        dto.put("name", "Ballista " + n);
+        dto.put("type", n % 2 == 0 ? "Weapon" : "Hull");
+        dto.put("health", 50);
+        dto.put("damageThreshold", 10);
+        dto.put("armorClass", 15);
+        dto.put("description", "Ranged Weapon Attack: +5 to hit, range 200/800 ft.");
+        return dto;
+    }
+
+    private static HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(JSON.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void print(Map<Operation, Result> results, Duration duration) {
+        System.out.printf("%-22s %10s %8s %10s %10s %10s %10s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms");
+        results.forEach((op, r) -> System.out.printf("%-22s %10d %8d %10.1f %10.2f %10.2f %10.2f%n",
+                op.endpoint, r.latency.getTotalCount(), r.errors.sum(),
+                r.latency.getTotalCount() / (double) duration.toSeconds(),
+                r.percentileMillis(50.0), r.percentileMillis(99.0), r.percentileMillis(99.9)));
+    }
+
+    private static void write(Map<Operation, Result> results, Duration duration, Path report) throws IOException {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        results.forEach((op, r) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("endpoint", op.endpoint);
+            row.put("requests", r.latency.getTotalCount());
+            row.put("errors", r.errors.sum());
+            row.put("requestsPerSecond", r.latency.getTotalCount() / (double) duration.toSeconds());
+            row.put("p50Millis", r.percentileMillis(50.0));
+            row.put("p99Millis", r.percentileMillis(99.0));
+            row.put("p999Millis", r.percentileMillis(99.9));
+            rows.add(row);
+        });
+        Files.createDirectories(report.toAbsolutePath().getParent());
+        JSON.writerWithDefaultPrettyPrinter().writeValue(report.toFile(), rows);
+        System.out.println("Report written to " + report.toAbsolutePath());
+    }
+
+    private static final class Result {
+        final Histogram latency = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+        final LongAdder errors = new LongAdder();
+
+        void record(long nanos, boolean ok) {
+            latency.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), latency.getHighestTrackableValue()));
+            if (!ok) errors.increment();
+        }
+
+        double percentileMillis(double percentile) {
+            return latency.getValueAtPercentile(percentile) / 1000.0;
+        }
+    }
+}
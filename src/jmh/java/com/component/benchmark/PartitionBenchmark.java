@@ -0,0 +1,183 @@
+package com.component.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-owner query latency of a plain components table against one hash-partitioned on owner_user_id,
+ * as the total number of rows grows. Needs a PostgreSQL (bench.url, bench.user, bench.password); the
+ * tables are created in a scratch schema that is dropped afterwards.
+ * <p>
+ * Tuning via system properties: bench.sizes (comma-separated total row counts, grown in order),
+ * bench.components-per-owner, bench.partitions, bench.queries (per query and table) and bench.report.
+ */
+public final class PartitionBenchmark {
+
+    enum Query {
+        LIST("list by owner", "select * from %s where owner_user_id = ? order by id"),
+        GET("get by owner and id", "select * from %s where owner_user_id = ? and id = ?"),
+        SEARCH("search by health", "select * from %s where owner_user_id = ? and health >= ? "
+                + "order by health, id limit 10");
+
+        final String label;
+        final String sql;
+
+        Query(String label, String sql) {
+            this.label = label;
+            this.sql = sql;
+        }
+    }
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final String SCHEMA = "partition_bench";
+    private static final List<String> TABLES = List.of("plain", "hashed");
+
+    private final Connection connection;
+    private final int componentsPerOwner;
+    private long rows;
+
+    private PartitionBenchmark(Connection connection, int componentsPerOwner) {
+        this.connection = connection;
+        this.componentsPerOwner = componentsPerOwner;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = System.getProperty("bench.url", "jdbc:postgresql://localhost:5432/ships");
+        long[] sizes = Arrays.stream(System.getProperty("bench.sizes", "100000,1000000,10000000").split(","))
+                .mapToLong(size -> Long.parseLong(size.trim()))
+                .sorted()
+                .toArray();
+        int componentsPerOwner = Integer.getInteger("bench.components-per-owner", 20);
+        int partitions = Integer.getInteger("bench.partitions", 16);
+        int queries = Integer.getInteger("bench.queries", 20_000);
+        Path report = Path.of(System.getProperty("bench.report", "partition-benchmark.json"));
+
+        try (Connection connection = DriverManager.getConnection(url,
+                System.getProperty("bench.user", "postgres"), System.getProperty("bench.password", "pass"))) {
+            PartitionBenchmark benchmark = new PartitionBenchmark(connection, componentsPerOwner);
+            List<Map<String, Object>> results = new ArrayList<>();
+            try {
+                benchmark.createTables(partitions);
+                System.out.printf("%-10s %-8s %-20s %10s %10s %10s%n",
+                        "rows", "table", "query", "mean ms", "p50 ms", "p99 ms");
+                for (long size : sizes) {
+                    benchmark.growTo(size);
+                    for (String table : TABLES) {
+                        for (Query query : Query.values()) {
+                            benchmark.measure(table, query, queries / 5);
+                            Histogram latency = benchmark.measure(table, query, queries);
+                            System.out.printf("%-10d %-8s %-20s %10.3f %10.3f %10.3f%n", size, table, query.label,
+                                    latency.getMean() / 1000.0, latency.getValueAtPercentile(50.0) / 1000.0,
+                                    latency.getValueAtPercentile(99.0) / 1000.0);
+                            results.add(row(size, table, query, latency));
+                        }
+                    }
+                }
+            } finally {
+                try (Statement st = connection.createStatement()) {
+                    st.execute("drop schema if exists " + SCHEMA + " cascade");
+                }
+            }
+            write(results, report);
+        }
+    }
+
+    private void createTables(int partitions) throws SQLException {
+        try (Statement st = connection.createStatement()) {
+            st.execute("drop schema if exists " + SCHEMA + " cascade");
+            st.execute("create schema " + SCHEMA);
+            for (String table : TABLES) {
+                String name = SCHEMA + "." + table;
+                st.execute("create table " + name + " (id bigint not null, owner_user_id bigint not null, "
+                        + "name varchar(255), type varchar(255), health integer not null, "
+                        + "damage_threshold integer not null, armor_class integer not null, "
+                        + "description varchar(255), version bigint default 0 not null)"
+                        + ("hashed".equals(table) ? " partition by hash (owner_user_id)" : ""));
+                if ("hashed".equals(table)) {
+                    for (int i = 0; i < partitions; i++) {
+                        st.execute("create table " + name + "_p" + i + " partition of " + name
+                                + " for values with (modulus " + partitions + ", remainder " + i + ")");
+                    }
+                }
+                // same indexes as the migrations
+                st.execute("alter table " + name + " add primary key (owner_user_id, id)");
+                st.execute("create index on " + name + " (owner_user_id, health, id)");
+            }
+        }
+    }
+
+    private void growTo(long size) throws SQLException {
+        if (size <= rows) return;
+        System.out.printf("Growing both tables to %d rows%n", size);
+        try (Statement st = connection.createStatement()) {
+            for (String table : TABLES) {
+                st.execute("insert into " + SCHEMA + "." + table + " select g, g / " + componentsPerOwner + ", "
+                        + "'Ballista ' || g, case when g % 2 = 0 then 'Weapon' else 'Hull' end, "
+                        + "(g * 7) % 100, 10, 15, 'Ranged Weapon Attack: +5 to hit, range 200/800 ft.', 0 "
+                        + "from generate_series(" + rows + ", " + (size - 1) + ") g");
+                st.execute("vacuum analyze " + SCHEMA + "." + table);
+            }
+        }
+        rows = size;
+    }
+
+    private Histogram measure(String table, Query query, int count) throws SQLException {
+        Histogram latency = new Histogram(TimeUnit.SECONDS.toMicros(10), 3);
+        long owners = rows / componentsPerOwner;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try (PreparedStatement ps = connection.prepareStatement(query.sql.formatted(SCHEMA + "." + table))) {
+            for (int i = 0; i < count; i++) {
+                long owner = random.nextLong(owners);
+                ps.setLong(1, owner);
+                switch (query) {
+                    case GET -> ps.setLong(2, owner * componentsPerOwner + random.nextInt(componentsPerOwner));
+                    case SEARCH -> ps.setInt(2, random.nextInt(100));
+                    case LIST -> { }
+                }
+                long start = System.nanoTime();
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        rs.getLong(1);
+                    }
+                }
+                latency.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start),
+                        latency.getHighestTrackableValue()));
+            }
+        }
+        return latency;
+    }
+
+    private static Map<String, Object> row(long size, String table, Query query, Histogram latency) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("rows", size);
+        row.put("table", table);
+        row.put("query", query.label);
+        row.put("meanMillis", latency.getMean() / 1000.0);
+        row.put("p50Millis", latency.getValueAtPercentile(50.0) / 1000.0);
+        row.put("p99Millis", latency.getValueAtPercentile(99.0) / 1000.0);
+        return row;
+    }
+
+    private static void write(List<Map<String, Object>> results, Path report) throws IOException {
+        Files.createDirectories(report.toAbsolutePath().getParent());
+        JSON.writerWithDefaultPrettyPrinter().writeValue(report.toFile(), results);
+        System.out.println("Report written to " + report.toAbsolutePath());
+    }
+}
@@ -0,0 +1,46 @@
+package com.component.benchmark;
+
+import com.component.dto.ComponentDto;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Prints the bytes on the wire for a component list in each negotiated format, raw and gzipped.
+ * The CPU side of the comparison is {@link SerializationBenchmark}.
+ */
+public final class PayloadSizeReport {
+
+    private static final int[] SIZES = {1, 10, 1000, 10000};
+    private static final String[] FORMATS = {"json", "cbor", "smile"};
+
+    private PayloadSizeReport() { }
+
+    public static void main(String[] args) throws IOException {
+        System.out.printf("%-6s %8s %12s %12s %8s%n", "format", "items", "raw bytes", "gzip bytes", "vs json");
+        for (int size : SIZES) {
+            List<ComponentDto> components = BenchmarkData.dtos(size);
+            long jsonBytes = 0;
+            for (String format : FORMATS) {
+                ObjectWriter writer = BenchmarkData.mapper(format)
+                        .writerFor(new TypeReference<List<ComponentDto>>() { });
+                byte[] raw = writer.writeValueAsBytes(components);
+                if (format.equals("json")) jsonBytes = raw.length;
+                System.out.printf("%-6s %8d %12d %12d %7.0f%%%n",
+                        format, size, raw.length, gzip(raw).length, 100.0 * raw.length / jsonBytes);
+            }
+        }
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,53 @@
+package com.component.benchmark;
+
+import com.component.dto.ComponentDto;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"1", "10", "1000", "10000"})
+    int size;
+
+    @Param({"json", "cbor", "smile"})
+    String format;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private List<ComponentDto> components;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        TypeReference<List<ComponentDto>> listType = new TypeReference<>() { };
+        ObjectMapper mapper = BenchmarkData.mapper(format);
+        writer = mapper.writerFor(listType);
+        reader = mapper.readerFor(listType);
+        components = BenchmarkData.dtos(size);
+        encoded = writer.writeValueAsBytes(components);
+    }
+
+    @Benchmark
+    public byte[] writeList() throws IOException {
+        return writer.writeValueAsBytes(components);
+    }
+
+    // what a calling service pays to decode the same payload
+    @Benchmark
+    public List<ComponentDto> readList() throws IOException {
+        return reader.readValue(encoded);
+    }
+}
@@ -1,11 +1,29 @@
 package com.component.auth;
 
+/**
+ * Owner of the current request. Values are bound for the extent of a {@link Scope}
+ * and restored on close, mirroring {@code ScopedValue.where(...).run(...)} while
+ * that API is still a preview feature on Java 21.
+ */
 public final class AuthContext {
     private static final ThreadLocal<Long> OWNER = new ThreadLocal<>();
 
     private AuthContext() { }
 
-    public static void setOwnerUserId(Long id) { OWNER.set(id); }
+    public static Scope bind(Long id) {
+        Long previous = OWNER.get();
+        OWNER.set(id);
+        return () -> {
+            if (previous == null) OWNER.remove();
+            else OWNER.set(previous);
+        };
+    }
+
     public static Long getOwnerUserId() { return OWNER.get(); }
-    public static void clear() { OWNER.remove(); }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
 }
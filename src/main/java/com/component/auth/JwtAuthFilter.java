@@ -1,21 +1,29 @@
 package com.component.auth;
 
+import com.component.metrics.StageMetrics;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 
 @Component
+@Order(JwtAuthFilter.ORDER)
 public class JwtAuthFilter extends OncePerRequestFilter {
 
+    public static final int ORDER = Ordered.LOWEST_PRECEDENCE - 10;
+
     private final JwtParserService parser;
+    private final StageMetrics metrics;
 
-    public JwtAuthFilter(JwtParserService parser) {
+    public JwtAuthFilter(JwtParserService parser, StageMetrics metrics) {
         this.parser = parser;
+        this.metrics = metrics;
     }
 
     @Override
@@ -42,14 +50,23 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         String token = auth.substring("Bearer ".length()).trim();
 
+        Long ownerUserId;
+        long start = System.nanoTime();
         try {
-            Long ownerUserId = parser.parseOwnerUserId(token);
-            AuthContext.setOwnerUserId(ownerUserId);
-            chain.doFilter(request, response);
+            ownerUserId = parser.resolveOwnerUserId(token);
         } catch (Exception e) {
+            // never dispatched, so there is no handler pattern to tag with
+            metrics.record("jwt-verify", "rejected", System.nanoTime() - start, request);
             response.setStatus(401);
+            return;
+        }
+        long verifyNanos = System.nanoTime() - start;
+
+        // recorded after the chain, once the handler pattern is on the request
+        try (AuthContext.Scope ignored = AuthContext.bind(ownerUserId)) {
+            chain.doFilter(request, response);
         } finally {
-            AuthContext.clear();
+            metrics.record("jwt-verify", "success", verifyNanos, request);
         }
     }
 }
\ No newline at end of file
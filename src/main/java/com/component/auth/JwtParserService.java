@@ -1,34 +1,115 @@
 package com.component.auth;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
 
 @Service
 public class JwtParserService {
 
-    private final SecretKey key;
+    private final JwtParser parser;
+    private final Cache<String, VerifiedToken> verifiedTokens;
 
-    public JwtParserService(@Value("${app.jwt.secret}") String secret) {
-        this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    public JwtParserService(@Value("${app.jwt.secret}") String secret,
+                            @Value("${app.jwt.cache.max-size:100000}") long cacheMaxSize,
+                            @Value("${app.jwt.cache.max-ttl:1h}") Duration cacheMaxTtl,
+                            MeterRegistry meterRegistry) {
+        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        // JwtParser is immutable and thread-safe once built
+        this.parser = Jwts.parser()
+                .verifyWith(key)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new UntilTokenExpiry(cacheMaxTtl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.verified");
+    }
+
+    /**
+     * Resolves the owner of a token, skipping signature verification for tokens
+     * that were already verified and have not expired yet.
+     */
+    public Long resolveOwnerUserId(String token) {
+        String digest = digest(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) return cached.ownerUserId();
+
+        Claims claims = parseClaims(token);
+        Long ownerUserId = ownerUserId(claims);
+        Date expiration = claims.getExpiration();
+        verifiedTokens.put(digest, new VerifiedToken(ownerUserId, expiration == null ? null : expiration.toInstant()));
+        return ownerUserId;
     }
 
     public Long parseOwnerUserId(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return ownerUserId(parseClaims(token));
+    }
+
+    private Claims parseClaims(String token) {
+        return parser.parseSignedClaims(token).getPayload();
+    }
 
+    private static Long ownerUserId(Claims claims) {
         Object v = claims.get("ownerUserId");
         if (v instanceof Integer i) return i.longValue();
         if (v instanceof Long l) return l;
         if (v instanceof String s) return Long.parseLong(s);
         throw new IllegalArgumentException("ownerUserId claim missing/invalid");
     }
-}
\ No newline at end of file
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record VerifiedToken(Long ownerUserId, Instant expiresAt) { }
+
+    private static final class UntilTokenExpiry implements Expiry<String, VerifiedToken> {
+        private final Duration maxTtl;
+
+        private UntilTokenExpiry(Duration maxTtl) {
+            this.maxTtl = maxTtl;
+        }
+
+        @Override
+        public long expireAfterCreate(String digest, VerifiedToken token, long currentTime) {
+            if (token.expiresAt() == null) return maxTtl.toNanos();
+            Duration remaining = Duration.between(Instant.now(), token.expiresAt());
+            if (remaining.compareTo(maxTtl) > 0) return maxTtl.toNanos();
+            return remaining.isNegative() ? 0 : remaining.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String digest, VerifiedToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(digest, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String digest, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.component.cache;
+
+import com.component.dto.ComponentDto;
+import com.component.service.ComponentChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Read-through cache holding the full component set of each owner.
+ * The size limit is expressed in components, not owners, so a few large catalogs
+ * cannot push the heap usage past what was configured.
+ */
+@Component
+public class OwnerComponentCache {
+
+    private final Cache<Long, List<ComponentDto>> byOwner;
+
+    public OwnerComponentCache(@Value("${app.cache.components.max-components:200000}") long maxComponents,
+                               @Value("${app.cache.components.ttl:5m}") Duration ttl,
+                               MeterRegistry meterRegistry) {
+        this.byOwner = Caffeine.newBuilder()
+                .maximumWeight(maxComponents)
+                .weigher((Long ownerUserId, List<ComponentDto> components) -> components.size() + 1)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byOwner, "components.by-owner");
+    }
+
+    public List<ComponentDto> get(Long ownerUserId, Function<Long, List<ComponentDto>> loader) {
+        return byOwner.get(ownerUserId, id -> List.copyOf(loader.apply(id)));
+    }
+
+    public List<ComponentDto> getIfPresent(Long ownerUserId) {
+        return byOwner.getIfPresent(ownerUserId);
+    }
+
+    // Invalidating a key that is being loaded waits for the load, so a read racing
+    // with the commit cannot leave a stale list behind. Ordered after RecentWriters.
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onComponentChanged(ComponentChangedEvent event) {
+        byOwner.invalidate(event.ownerUserId());
+    }
+}
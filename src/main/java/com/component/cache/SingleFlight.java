@@ -0,0 +1,81 @@
+package com.component.cache;
+
+import com.component.service.ComponentChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent identical reads into one load: the first caller runs it, callers arriving
+ * while it is in flight wait for the same result. Followers wait on a future, not on a lock, so
+ * blocked virtual threads do not pin their carriers.
+ * <p>
+ * A committed change drops the owner's in-flight loads, so any read that starts after
+ * the commit runs its own load instead of joining one that may have read older data.
+ */
+@Component
+public class SingleFlight {
+
+    private record Key(String query, Long ownerUserId, Object args) { }
+
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry registry;
+
+    public SingleFlight(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * @param query name of the read, used as metric tag
+     * @param args  everything besides the owner that makes two reads identical, or null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String query, Long ownerUserId, Object args, Supplier<T> load) {
+        Key key = new Key(query, ownerUserId, args);
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(key, mine);
+        if (leader != null) {
+            count(query, "follower");
+            try {
+                return (T) leader.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException r) throw r;
+                if (e.getCause() instanceof Error err) throw err;
+                throw e;
+            }
+        }
+
+        count(query, "leader");
+        try {
+            T value = load.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onComponentChanged(ComponentChangedEvent event) {
+        inFlight.keySet().removeIf(key -> key.ownerUserId().equals(event.ownerUserId()));
+    }
+
+    private void count(String query, String role) {
+        Counter.builder("component.singleflight")
+                .description("Coalesced reads; role=follower counts calls served by another call's load")
+                .tag("query", query)
+                .tag("role", role)
+                .register(registry)
+                .increment();
+    }
+}
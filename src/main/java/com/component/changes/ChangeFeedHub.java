@@ -0,0 +1,157 @@
+package com.component.changes;
+
+import com.component.dto.ChangeEventDto;
+import com.component.service.ComponentChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process fan-out of committed component changes to the owner's open SSE streams.
+ * <p>
+ * Event ids come from one sequence that starts at the boot time in microseconds, so an id from
+ * before a restart is always older than anything this instance kept and leads to a resync.
+ */
+@Component
+public class ChangeFeedHub {
+
+    public static final String CHANGE = "change";
+    public static final String RESYNC = "resync";
+
+    private final Map<Long, OwnerChangeLog> logs = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    // idle streams cost no thread; a virtual thread exists only while a backlog is written out
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("change-feed-heartbeat").daemon().factory());
+
+    private final int bufferSize;
+    private final int replaySize;
+    private final long replayTtlMillis;
+    private final int maxSubscribers;
+    private final Duration timeout;
+    private final Counter resyncs;
+
+    public ChangeFeedHub(@Value("${app.changes.buffer-size:256}") int bufferSize,
+                         @Value("${app.changes.replay-size:1000}") int replaySize,
+                         @Value("${app.changes.replay-ttl:10m}") Duration replayTtl,
+                         @Value("${app.changes.max-subscribers:10000}") int maxSubscribers,
+                         @Value("${app.changes.timeout:30m}") Duration timeout,
+                         @Value("${app.changes.heartbeat:30s}") Duration heartbeat,
+                         MeterRegistry meterRegistry) {
+        this.bufferSize = bufferSize;
+        this.replaySize = replaySize;
+        this.replayTtlMillis = replayTtl.toMillis();
+        this.maxSubscribers = maxSubscribers;
+        this.timeout = timeout;
+        this.resyncs = Counter.builder("changes.resyncs")
+                .description("Streams that fell behind and were told to reload")
+                .register(meterRegistry);
+        Gauge.builder("changes.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open change streams")
+                .register(meterRegistry);
+        heartbeats.scheduleWithFixedDelay(this::tick, heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens a change stream for the owner.
+     *
+     * @param lastEventId id of the last event the client saw, or null for a fresh stream
+     * @return null if the instance already holds the maximum number of streams
+     */
+    public SseEmitter subscribe(Long ownerUserId, Long lastEventId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        ChangeSubscriber subscriber = new ChangeSubscriber(emitter, bufferSize, senders, resyncs::increment);
+        while (true) {
+            OwnerChangeLog log = log(ownerUserId);
+            synchronized (log) {
+                // the log may have been dropped as idle between the lookup and the lock
+                if (logs.get(ownerUserId) != log) continue;
+                if (lastEventId != null) {
+                    long current = sequence.get();
+                    List<OwnerChangeLog.Entry> missed = log.since(lastEventId, current);
+                    if (missed == null) {
+                        subscriber.offer(current, RESYNC, "");
+                        resyncs.increment();
+                    } else {
+                        missed.forEach(entry -> subscriber.offer(entry.id(), entry.name(), entry.data()));
+                    }
+                }
+                Runnable unsubscribe = () -> {
+                    if (log.subscribers().remove(subscriber)) subscriberCount.decrementAndGet();
+                };
+                emitter.onCompletion(unsubscribe);
+                emitter.onTimeout(unsubscribe);
+                emitter.onError(e -> unsubscribe.run());
+                log.subscribers().add(subscriber);
+                return emitter;
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onComponentChanged(ComponentChangedEvent event) {
+        // an import is too many changes to list one by one, clients reload instead
+        boolean resync = event.type() == ComponentChangedEvent.ChangeType.IMPORTED;
+        String name = resync ? RESYNC : CHANGE;
+        Object data = resync ? "" : new ChangeEventDto(event.type().name(), event.componentId());
+        while (true) {
+            OwnerChangeLog log = log(event.ownerUserId());
+            synchronized (log) {
+                if (logs.get(event.ownerUserId()) != log) continue;
+                long id = sequence.incrementAndGet();
+                log.append(new OwnerChangeLog.Entry(id, name, data), System.currentTimeMillis());
+                for (ChangeSubscriber subscriber : log.subscribers()) {
+                    subscriber.offer(id, name, data);
+                }
+                return;
+            }
+        }
+    }
+
+    private OwnerChangeLog log(Long ownerUserId) {
+        return logs.computeIfAbsent(ownerUserId,
+                id -> new OwnerChangeLog(replaySize, sequence.get(), System.currentTimeMillis()));
+    }
+
+    private void tick() {
+        long cutoff = System.currentTimeMillis() - replayTtlMillis;
+        logs.forEach((ownerUserId, log) -> {
+            synchronized (log) {
+                if (log.idleSince(cutoff)) {
+                    logs.remove(ownerUserId, log);
+                    return;
+                }
+            }
+            log.subscribers().forEach(ChangeSubscriber::heartbeat);
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeats.shutdownNow();
+        logs.values().forEach(log -> log.subscribers().forEach(subscriber -> subscriber.emitter().complete()));
+        senders.shutdown();
+    }
+}
@@ -0,0 +1,94 @@
+package com.component.changes;
+
+import com.component.metrics.StageMetrics;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+
+/**
+ * One open change stream. Events are queued and written by a short-lived drain task, so a slow client
+ * never blocks the committing request. When the queue is full, the backlog is replaced by a single
+ * resync event telling the client to reload its list.
+ */
+final class ChangeSubscriber {
+
+    private final SseEmitter emitter;
+    private final int bufferSize;
+    private final Executor executor;
+    private final Runnable onResync;
+    // events are serialized on the drain thread, timed against the subscribing request's endpoint
+    private final String endpoint = StageMetrics.currentEndpoint();
+    private final ArrayDeque<SseEmitter.SseEventBuilder> queue = new ArrayDeque<>();
+    private boolean draining;
+
+    ChangeSubscriber(SseEmitter emitter, int bufferSize, Executor executor, Runnable onResync) {
+        this.emitter = emitter;
+        this.bufferSize = bufferSize;
+        this.executor = executor;
+        this.onResync = onResync;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    void offer(long id, String name, Object data) {
+        SseEmitter.SseEventBuilder event = SseEmitter.event().id(Long.toString(id)).name(name).data(data);
+        boolean overflow;
+        synchronized (this) {
+            overflow = queue.size() >= bufferSize;
+            if (overflow) {
+                queue.clear();
+                // the id still advances, so a reconnect after the reload resumes from here
+                queue.add(SseEmitter.event().id(Long.toString(id)).name(ChangeFeedHub.RESYNC).data(""));
+            } else {
+                queue.add(event);
+            }
+        }
+        if (overflow) onResync.run();
+        drain();
+    }
+
+    /** Keeps idle connections alive and detects clients that went away. Skipped while events are pending. */
+    void heartbeat() {
+        synchronized (this) {
+            if (!queue.isEmpty()) return;
+            queue.add(SseEmitter.event().comment(""));
+        }
+        drain();
+    }
+
+    private void drain() {
+        synchronized (this) {
+            if (draining || queue.isEmpty()) return;
+            draining = true;
+        }
+        executor.execute(() -> {
+            try (StageMetrics.Scope ignored = StageMetrics.bindEndpoint(endpoint)) {
+                while (true) {
+                    SseEmitter.SseEventBuilder next;
+                    synchronized (this) {
+                        next = queue.poll();
+                        if (next == null) {
+                            draining = false;
+                            return;
+                        }
+                    }
+                    try {
+                        emitter.send(next);
+                    } catch (IOException | IllegalStateException e) {
+                        // the completion callback unregisters the subscriber
+                        synchronized (this) {
+                            queue.clear();
+                            draining = false;
+                        }
+                        emitter.completeWithError(e);
+                        return;
+                    }
+                }
+            }
+        });
+    }
+}
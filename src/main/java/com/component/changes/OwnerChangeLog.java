@@ -0,0 +1,62 @@
+package com.component.changes;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Recent changes of one owner plus its live subscribers. Appending and subscribing both run under
+ * the log's monitor, so a subscriber sees every event exactly once: from the replay or from the feed.
+ */
+final class OwnerChangeLog {
+
+    record Entry(long id, String name, Object data) { }
+
+    private final int capacity;
+    private final ArrayDeque<Entry> entries;
+    private final Set<ChangeSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // highest id that is no longer (or never was) in this log
+    private long floor;
+    private long lastActivity;
+
+    OwnerChangeLog(int capacity, long floor, long now) {
+        this.capacity = capacity;
+        this.entries = new ArrayDeque<>(Math.min(capacity, 16));
+        this.floor = floor;
+        this.lastActivity = now;
+    }
+
+    /** Must be called while holding the log's monitor. */
+    void append(Entry entry, long now) {
+        if (entries.size() == capacity) {
+            floor = entries.removeFirst().id();
+        }
+        entries.addLast(entry);
+        lastActivity = now;
+    }
+
+    /**
+     * Must be called while holding the log's monitor.
+     *
+     * @return entries after {@code lastId}, or null if some of them are no longer known
+     */
+    List<Entry> since(long lastId, long currentId) {
+        if (lastId < floor || lastId > currentId) return null;
+        List<Entry> missed = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (entry.id() > lastId) missed.add(entry);
+        }
+        return missed;
+    }
+
+    Set<ChangeSubscriber> subscribers() {
+        return subscribers;
+    }
+
+    /** Must be called while holding the log's monitor. */
+    boolean idleSince(long cutoff) {
+        return subscribers.isEmpty() && lastActivity < cutoff;
+    }
+}
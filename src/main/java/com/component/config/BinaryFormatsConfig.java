@@ -0,0 +1,48 @@
+package com.component.config;
+
+import com.component.metrics.StageMetrics;
+import com.component.metrics.TimedCborHttpMessageConverter;
+import com.component.metrics.TimedSmileHttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * CBOR and Smile encodings for internal callers, chosen through Accept and Content-Type next to JSON.
+ * Both beans replace MVC's default converters for their format, so a request without an Accept
+ * header, or one that accepts any type, still gets JSON.
+ */
+@Configuration
+public class BinaryFormatsConfig implements WebMvcConfigurer {
+
+    // the builder is a prototype bean carrying Boot's Jackson settings, so every format encodes the same properties
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder,
+                                                                            StageMetrics metrics) {
+        ObjectMapper mapper = builder.createXmlMapper(false).factory(new CBORFactory()).build();
+        return new TimedCborHttpMessageConverter(mapper, metrics);
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder,
+                                                                              StageMetrics metrics) {
+        ObjectMapper mapper = builder.createXmlMapper(false).factory(new SmileFactory()).build();
+        return new TimedSmileHttpMessageConverter(mapper, metrics);
+    }
+
+    // Boot keeps the default converter behind its replacement; drop the untimed copies
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter.getClass() == MappingJackson2CborHttpMessageConverter.class
+                || converter.getClass() == MappingJackson2SmileHttpMessageConverter.class);
+    }
+}
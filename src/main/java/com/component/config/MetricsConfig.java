@@ -0,0 +1,19 @@
+package com.component.config;
+
+import com.component.metrics.StageMetrics;
+import com.component.metrics.TimedJacksonHttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+@Configuration
+public class MetricsConfig {
+
+    // replaces Boot's default JSON converter, so response serialization shows up as its own stage
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                                   StageMetrics metrics) {
+        return new TimedJacksonHttpMessageConverter(objectMapper, metrics);
+    }
+}
@@ -0,0 +1,31 @@
+package com.component.config;
+
+import com.component.auth.AuthContext;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to the replica pool and everything else to the primary.
+ * Only works behind a LazyConnectionDataSourceProxy: the read-only flag is set after
+ * the transaction manager asked for the connection.
+ */
+class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route { PRIMARY, REPLICA }
+
+    private final RecentWriters recentWriters;
+
+    ReadWriteRoutingDataSource(RecentWriters recentWriters) {
+        this.recentWriters = recentWriters;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Route.PRIMARY;
+        }
+        // an owner who just wrote reads from the primary until the replica has surely caught up
+        Long ownerUserId = AuthContext.getOwnerUserId();
+        return ownerUserId != null && recentWriters.wroteRecently(ownerUserId) ? Route.PRIMARY : Route.REPLICA;
+    }
+}
@@ -0,0 +1,36 @@
+package com.component.config;
+
+import com.component.service.ComponentChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * Owners that committed a change within the read-your-writes window.
+ */
+public class RecentWriters {
+
+    private final Cache<Long, Boolean> owners;
+
+    public RecentWriters(Duration window) {
+        this.owners = window.isZero() ? null : Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    public boolean wroteRecently(Long ownerUserId) {
+        return owners != null && owners.getIfPresent(ownerUserId) != null;
+    }
+
+    // Runs before the cache invalidation: a read that reloads an invalidated entry must already
+    // be routed to the primary, or it could cache the replica's stale rows again.
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onComponentChanged(ComponentChangedEvent event) {
+        if (owners != null) owners.put(event.ownerUserId(), Boolean.TRUE);
+    }
+}
@@ -0,0 +1,97 @@
+package com.component.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Refuses to start when the indexes the owner-scoped queries rely on are missing,
+ * instead of silently degrading into sequential scans. It also reads no rows but every mapped
+ * column, which catches a schema the migrations have not brought up to date even where Hibernate's
+ * own validation is switched off (faststart).
+ * <p>
+ * Runs after the context has started, so AOT builds keep the bean and class data sharing training
+ * runs (which stop at refresh) need no database. Readiness stays off until it has passed.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SchemaIndexVerifier implements ApplicationRunner {
+
+    static final Set<String> REQUIRED_INDEXES = Set.of(
+            "idx_components_owner_id",
+            "idx_components_owner_type",
+            "idx_components_owner_name",
+            "idx_components_owner_name_desc",
+            "idx_components_owner_health",
+            "idx_components_owner_damage",
+            "idx_components_owner_armor"
+    );
+
+    private static final String COLUMNS_SQL = "select id, owner_user_id, name, type, health, damage_threshold, "
+            + "armor_class, description, version from components where 1 = 0";
+
+    private final DataSource dataSource;
+    // read at run time rather than as a bean condition, which AOT would fix at build time
+    private final boolean enabled;
+
+    public SchemaIndexVerifier(DataSource dataSource,
+                               @Value("${app.schema.verify-indexes:true}") boolean enabled) {
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) return;
+        verifyColumns();
+        Set<String> missing = new TreeSet<>(REQUIRED_INDEXES);
+        missing.removeAll(existingIndexes());
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Missing indexes on table components: " + missing
+                    + ". Run the schema migrations (--spring.profiles.active=migrate) before starting the service.");
+        }
+    }
+
+    private void verifyColumns() {
+        try (Connection connection = dataSource.getConnection(); Statement st = connection.createStatement()) {
+            st.executeQuery(COLUMNS_SQL).close();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Table components does not match the entity: " + e.getMessage()
+                    + ". Run the schema migrations (--spring.profiles.active=migrate) before starting the service.", e);
+        }
+    }
+
+    private Set<String> existingIndexes() {
+        Set<String> found = new HashSet<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData meta = connection.getMetaData();
+            // identifier case differs between databases, so look the table up both ways
+            for (String table : List.of("components", "COMPONENTS")) {
+                try (ResultSet rs = meta.getIndexInfo(connection.getCatalog(), connection.getSchema(), table, false, true)) {
+                    while (rs.next()) {
+                        String name = rs.getString("INDEX_NAME");
+                        if (name != null) found.add(name.toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not verify schema indexes", e);
+        }
+        return found;
+    }
+}
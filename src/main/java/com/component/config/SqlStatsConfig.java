@@ -0,0 +1,29 @@
+package com.component.config;
+
+import com.component.metrics.SqlStatementStats;
+import com.zaxxer.hikari.HikariDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SqlStatsConfig {
+
+    // Wraps the connection pools rather than the DataSource JPA sees, so with replica routing
+    // each statement is counted once, and it is counted no matter which pool ran it.
+    @Bean
+    static BeanPostProcessor sqlStatsDataSourceProxy(ObjectProvider<SqlStatementStats> stats) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource pool)) return bean;
+                return ProxyDataSourceBuilder.create(pool)
+                        .name(beanName)
+                        .listener(stats.getObject())
+                        .build();
+            }
+        };
+    }
+}
@@ -0,0 +1,85 @@
+package com.component.controller;
+
+import com.component.auth.AuthContext;
+import com.component.changes.ChangeFeedHub;
+import com.component.dto.ChangeEventDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Tag(
+        name = "Changes",
+        description = "Live feed of changes to the components owned by the authenticated user"
+)
+@RestController
+public class ChangeFeedController {
+
+    private final ChangeFeedHub hub;
+
+    public ChangeFeedController(ChangeFeedHub hub) {
+        this.hub = hub;
+    }
+
+    @Operation(
+            summary = "Stream component changes for current user",
+            description = "Server-Sent Events stream with one 'change' event per committed create, update or delete. "
+                    + "A 'resync' event means changes were missed and the component list must be reloaded. "
+                    + "Reconnect with Last-Event-ID to resume where the stream stopped."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Event stream of changes",
+                    content = @Content(
+                            mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                            schema = @Schema(implementation = ChangeEventDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid Last-Event-ID"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Missing or invalid JWT"
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Too many open streams on this instance"
+            )
+    })
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter changes(
+            @Parameter(description = "Id of the last event received before reconnecting")
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        Long ownerUserId = AuthContext.getOwnerUserId();
+        if (ownerUserId == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
+        }
+        Long after = null;
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            try {
+                after = Long.valueOf(lastEventId.trim());
+            } catch (NumberFormatException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid Last-Event-ID");
+            }
+        }
+        SseEmitter emitter = hub.subscribe(ownerUserId, after);
+        if (emitter == null) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many open change streams");
+        }
+        return emitter;
+    }
+}
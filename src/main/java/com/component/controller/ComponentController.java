@@ -1,8 +1,22 @@
 package com.component.controller;
 
 import com.component.auth.AuthContext;
+import com.component.dto.BulkItemResultDto;
 import com.component.dto.ComponentDto;
+import com.component.dto.ComponentFields;
+import com.component.dto.ComponentPageDto;
+import com.component.dto.ComponentPatch;
+import com.component.dto.ImportResultDto;
+import com.component.dto.PageCursor;
+import com.component.repository.ComponentSearch;
+import com.component.repository.ComponentSortField;
+import com.component.service.ComponentImporter;
 import com.component.service.ComponentService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -10,12 +24,23 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Tag(
         name = "Components",
@@ -26,14 +51,23 @@ import java.util.List;
 public class ComponentController {
 
     private final ComponentService componentService;
+    private final ComponentImporter componentImporter;
+    private final ObjectMapper objectMapper;
+    private final int maxBulkItems;
 
-    public ComponentController(ComponentService componentService) {
+    public ComponentController(ComponentService componentService, ComponentImporter componentImporter,
+                               ObjectMapper objectMapper,
+                               @Value("${app.bulk.max-items:500}") int maxBulkItems) {
         this.componentService = componentService;
+        this.componentImporter = componentImporter;
+        this.objectMapper = objectMapper;
+        this.maxBulkItems = maxBulkItems;
     }
 
     @Operation(
             summary = "List components for current user",
-            description = "Returns all component definitions owned by the authenticated user."
+            description = "Returns all component definitions owned by the authenticated user. "
+                    + "With fields, only the listed properties are read and returned."
     )
     @ApiResponses({
             @ApiResponse(
@@ -44,18 +78,324 @@ public class ComponentController {
                             array = @ArraySchema(schema = @Schema(implementation = ComponentDto.class))
                     )
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "List unchanged since the ETag given in If-None-Match"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Unknown field requested"
+            ),
             @ApiResponse(
                     responseCode = "401",
                     description = "Missing or invalid JWT"
             )
     })
     @GetMapping
-    public List<ComponentDto> getAllForUser() {
+    public ResponseEntity<List<?>> getAllForUser(
+            @RequestParam(required = false)
+            @Schema(description = "Comma-separated properties to return; all properties when absent",
+                    example = "id,name,type")
+            String fields,
+            WebRequest request
+    ) {
+        Long ownerUserId = AuthContext.getOwnerUserId();
+        if (ownerUserId == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
+        }
+        List<String> fieldList = parseFields(fields);
+        // the stamp is an aggregate query, so an unchanged list costs no row loading at all
+        String etag = ComponentETags.of(componentService.getCollectionStamp(ownerUserId), fieldList, request);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(fieldList == null
+                        ? componentService.getAllForUser(ownerUserId)
+                        : componentService.getAllForUser(ownerUserId, fieldList));
+    }
+
+    @Operation(
+            summary = "List components for current user page by page",
+            description = "Returns components owned by the authenticated user ordered by id. "
+                    + "Pass the returned nextCursor to fetch the following page. "
+                    + "With fields, only the listed properties are read and returned."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "One page of components owned by the authenticated user",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ComponentPageDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid cursor, limit or field"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Missing or invalid JWT"
+            )
+    })
+    @GetMapping("/page")
+    public Object getPageForUser(
+            @RequestParam(required = false)
+            @Schema(description = "Cursor returned by the previous page")
+            String cursor,
+            @RequestParam(defaultValue = "${app.pagination.default-limit:50}")
+            @Schema(description = "Maximum number of components to return", example = "50")
+            int limit,
+            @RequestParam(required = false)
+            @Schema(description = "Comma-separated properties to return; all properties when absent",
+                    example = "id,name,type")
+            String fields
+    ) {
+        Long ownerUserId = AuthContext.getOwnerUserId();
+        if (ownerUserId == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
+        }
+        if (limit < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be positive");
+        }
+        List<String> fieldList = parseFields(fields);
+        long afterId;
+        try {
+            afterId = PageCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        return fieldList == null
+                ? componentService.getPageForUser(ownerUserId, afterId, limit)
+                : componentService.getPageForUser(ownerUserId, afterId, limit, fieldList);
+    }
+
+    @Operation(
+            summary = "Search components for current user",
+            description = "Filters components owned by the authenticated user in the database and returns them "
+                    + "page by page in the requested order. Pass the returned nextCursor, together with the "
+                    + "same filters and sort, to fetch the following page. "
+                    + "With fields, only the listed properties are read and returned."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "One page of matching components",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ComponentPageDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid sort, cursor, limit or field"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Missing or invalid JWT"
+            )
+    })
+    @GetMapping("/search")
+    public Object search(
+            @RequestParam(required = false)
+            @Schema(description = "Exact component type", example = "Weapon")
+            String type,
+            @RequestParam(required = false)
+            @Schema(description = "Case-sensitive prefix of the component name", example = "Laser")
+            String namePrefix,
+            @RequestParam(required = false) Integer minHealth,
+            @RequestParam(required = false) Integer maxHealth,
+            @RequestParam(required = false) Integer minDamageThreshold,
+            @RequestParam(required = false) Integer maxDamageThreshold,
+            @RequestParam(required = false) Integer minArmorClass,
+            @RequestParam(required = false) Integer maxArmorClass,
+            @RequestParam(defaultValue = "id")
+            @Schema(description = "Sort attribute (id, name, health, damageThreshold, armorClass); "
+                    + "prefix with '-' for descending order", example = "-health")
+            String sort,
+            @RequestParam(required = false)
+            @Schema(description = "Cursor returned by the previous page")
+            String cursor,
+            @RequestParam(defaultValue = "${app.pagination.default-limit:50}")
+            @Schema(description = "Maximum number of components to return", example = "50")
+            int limit,
+            @RequestParam(required = false)
+            @Schema(description = "Comma-separated properties to return; all properties when absent",
+                    example = "id,name,type")
+            String fields
+    ) {
+        Long ownerUserId = AuthContext.getOwnerUserId();
+        if (ownerUserId == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
+        }
+        if (limit < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be positive");
+        }
+        List<String> fieldList = parseFields(fields);
+        ComponentSearch search;
+        ComponentSearch.After after = null;
+        try {
+            boolean descending = sort.startsWith("-");
+            ComponentSortField field = ComponentSortField.fromAttribute(descending ? sort.substring(1) : sort);
+            search = new ComponentSearch(type, namePrefix, minHealth, maxHealth,
+                    minDamageThreshold, maxDamageThreshold, minArmorClass, maxArmorClass, field, descending);
+            PageCursor.Keyset keyset = PageCursor.decode(cursor, search.sortParam());
+            if (keyset != null) {
+                after = search.after(keyset.lastId(), keyset.lastValue());
+            }
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        return fieldList == null
+                ? componentService.search(ownerUserId, search, after, limit)
+                : componentService.search(ownerUserId, search, after, limit, fieldList);
+    }
+
+    @Operation(
+            summary = "Stream all components for current user",
+            description = "Streams every component owned by the authenticated user as one JSON array, "
+                    + "reading rows from a database cursor instead of loading them all at once."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "List of components owned by the authenticated user",
+                    content = @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = ComponentDto.class))
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Missing or invalid JWT"
+            )
+    })
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllForUser() {
+        Long ownerUserId = AuthContext.getOwnerUserId();
+        if (ownerUserId == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
+        }
+        // the body is written on an async thread, so the owner is captured here and bound there
+        // for read-your-writes routing
+        StreamingResponseBody body = out -> {
+            try (AuthContext.Scope ignored = AuthContext.bind(ownerUserId);
+                 JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                json.writeStartArray();
+                componentService.forEachForUser(ownerUserId, dto -> {
+                    try {
+                        json.writeObject(dto);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                json.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    @Operation(
+            summary = "Export components for current user",
+            description = "Streams every component owned by the authenticated user as newline-delimited JSON, "
+                    + "one component per line. The output can be sent back to POST /import as is."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "One JSON component per line",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = ComponentDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Missing or invalid JWT"
+            )
+    })
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export() {
+        Long ownerUserId = AuthContext.getOwnerUserId();
+        if (ownerUserId == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
+        }
+        StreamingResponseBody body = out -> {
+            try (AuthContext.Scope ignored = AuthContext.bind(ownerUserId);
+                 JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                componentService.forEachForUser(ownerUserId, dto -> {
+                    try {
+                        json.writeObject(dto);
+                        json.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @Operation(
+            summary = "Import components",
+            description = "Creates one component per line of newline-delimited JSON for the authenticated user, "
+                    + "all in one transaction. The body is read as it arrives, so it can be far larger than a bulk "
+                    + "request. Fields 'id' and 'ownerUserId' are ignored if provided."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Number of components created",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ImportResultDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Malformed line or too many components; nothing is imported"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Missing or invalid JWT"
+            )
+    })
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ImportResultDto importComponents(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Component definitions, one JSON object per line.",
+                    required = true,
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = ComponentDto.class)
+                    )
+            )
+            InputStream body
+    ) throws IOException {
         Long ownerUserId = AuthContext.getOwnerUserId();
         if (ownerUserId == null) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
         }
-        return componentService.getAllForUser(ownerUserId);
+        try (MappingIterator<ComponentDto> rows = objectMapper.readerFor(ComponentDto.class).readValues(body)) {
+            return new ImportResultDto(componentImporter.importComponents(ownerUserId, rows));
+        } catch (IllegalArgumentException | RuntimeJsonMappingException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (JsonProcessingException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getOriginalMessage());
+        } catch (RuntimeException e) {
+            // MappingIterator wraps parse errors of later lines in a plain RuntimeException
+            if (e.getCause() instanceof JsonProcessingException) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getCause().getMessage());
+            }
+            throw e;
+        }
     }
 
     @Operation(
@@ -120,6 +460,10 @@ public class ComponentController {
             @ApiResponse(
                     responseCode = "404",
                     description = "Component not found for this user"
+            ),
+            @ApiResponse(
+                    responseCode = "412",
+                    description = "Component changed since the ETag given in If-Match"
             )
     })
     @PutMapping("/{componentId}")
@@ -132,14 +476,203 @@ public class ComponentController {
                     required = true,
                     content = @Content(schema = @Schema(implementation = ComponentDto.class))
             )
-            @RequestBody ComponentDto componentDto
+            @RequestBody ComponentDto componentDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Schema(description = "ETag the client last saw; the update is rejected if the component changed since")
+            String ifMatch,
+            WebRequest request
     ) {
         Long ownerUserId = AuthContext.getOwnerUserId();
         if (ownerUserId == null) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
         }
-        return componentService.updateComponent(componentId, ownerUserId, componentDto)
-                .map(ResponseEntity::ok)
+        Long expectedVersion = ComponentETags.expectedVersion(ifMatch, componentId);
+        return componentService.updateComponent(componentId, ownerUserId, componentDto, expectedVersion)
+                .map(dto -> ResponseEntity.ok()
+                        .eTag(ComponentETags.of(dto, request))
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .body(dto))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @Operation(
+            summary = "Create component definitions in bulk",
+            description = "Creates all given component definitions for the authenticated user in one transaction. "
+                    + "Fields 'id' and 'ownerUserId' are ignored if provided."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Per-item results, in request order",
+                    content = @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = BulkItemResultDto.class))
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Too many items in one request"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Missing or invalid JWT"
+            )
+    })
+    @PostMapping("/bulk")
+    public List<BulkItemResultDto> createBulk(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Component definitions to create.",
+                    required = true,
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = ComponentDto.class)))
+            )
+            @RequestBody List<ComponentDto> componentDtos
+    ) {
+        Long ownerUserId = AuthContext.getOwnerUserId();
+        if (ownerUserId == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
+        }
+        checkBulkSize(componentDtos.size());
+        return componentService.createComponents(componentDtos, ownerUserId);
+    }
+
+    @Operation(
+            summary = "Update component definitions in bulk",
+            description = "Updates all given component definitions owned by the authenticated user in one transaction. "
+                    + "Each item is matched by its 'id'; items that are not found are reported with status 404."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Per-item results, in request order",
+                    content = @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = BulkItemResultDto.class))
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Too many items in one request"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Missing or invalid JWT"
+            )
+    })
+    @PutMapping("/bulk")
+    public List<BulkItemResultDto> updateBulk(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Updated component definitions. Field 'ownerUserId' is ignored if provided.",
+                    required = true,
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = ComponentDto.class)))
+            )
+            @RequestBody List<ComponentDto> componentDtos
+    ) {
+        Long ownerUserId = AuthContext.getOwnerUserId();
+        if (ownerUserId == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
+        }
+        checkBulkSize(componentDtos.size());
+        return componentService.updateComponents(componentDtos, ownerUserId);
+    }
+
+    @Operation(
+            summary = "Delete component definitions in bulk",
+            description = "Deletes all given component definitions owned by the authenticated user in one transaction."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Per-item results, in request order",
+                    content = @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = BulkItemResultDto.class))
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Too many items in one request"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Missing or invalid JWT"
+            )
+    })
+    @DeleteMapping("/bulk")
+    public List<BulkItemResultDto> deleteBulk(
+            @RequestParam
+            @Schema(description = "Component identifiers", example = "5,6,7")
+            List<Long> ids
+    ) {
+        Long ownerUserId = AuthContext.getOwnerUserId();
+        if (ownerUserId == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
+        }
+        checkBulkSize(ids.size());
+        return componentService.deleteComponents(ids, ownerUserId);
+    }
+
+    @Operation(
+            summary = "Partially update a component definition",
+            description = "Applies a JSON merge patch to a component definition owned by the authenticated user. "
+                    + "Only the fields present in the body are written; 'id', 'ownerUserId' and 'version' cannot be patched."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Component successfully updated",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ComponentDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Unknown field or value of the wrong type"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Missing or invalid JWT"
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Component not found for this user"
+            ),
+            @ApiResponse(
+                    responseCode = "412",
+                    description = "Component changed since the ETag given in If-Match"
+            )
+    })
+    @PatchMapping(value = "/{componentId}", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/merge-patch+json"})
+    public ResponseEntity<ComponentDto> patch(
+            @PathVariable
+            @Schema(description = "Component identifier", example = "5")
+            Long componentId,
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Fields to change, e.g. {\"health\": 40}.",
+                    required = true
+            )
+            @RequestBody Map<String, Object> changes,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Schema(description = "ETag the client last saw; the update is rejected if the component changed since")
+            String ifMatch,
+            WebRequest request
+    ) {
+        Long ownerUserId = AuthContext.getOwnerUserId();
+        if (ownerUserId == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
+        }
+        Map<String, Object> values;
+        try {
+            values = ComponentPatch.values(changes);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        Long expectedVersion = ComponentETags.expectedVersion(ifMatch, componentId);
+        return componentService.patchComponent(componentId, ownerUserId, values, expectedVersion)
+                .map(dto -> ResponseEntity.ok()
+                        .eTag(ComponentETags.of(dto, request))
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .body(dto))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -156,6 +689,10 @@ public class ComponentController {
                             schema = @Schema(implementation = ComponentDto.class)
                     )
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Component unchanged since the ETag given in If-None-Match"
+            ),
             @ApiResponse(
                     responseCode = "401",
                     description = "Missing or invalid JWT"
@@ -169,15 +706,25 @@ public class ComponentController {
     public ResponseEntity<ComponentDto> getById(
             @PathVariable
             @Schema(description = "Component identifier", example = "5")
-            Long componentId
+            Long componentId,
+            WebRequest request
     ) {
         Long ownerUserId = AuthContext.getOwnerUserId();
         if (ownerUserId == null) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
         }
-        return componentService.getComponentById(ownerUserId, componentId)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+        Optional<ComponentDto> component = componentService.getComponentById(ownerUserId, componentId);
+        if (component.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = ComponentETags.of(component.get(), request);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(component.get());
     }
 
     @Operation(
@@ -196,21 +743,48 @@ public class ComponentController {
             @ApiResponse(
                     responseCode = "404",
                     description = "Component not found for this user"
+            ),
+            @ApiResponse(
+                    responseCode = "412",
+                    description = "Component changed since the ETag given in If-Match"
             )
     })
     @DeleteMapping("/{componentId}")
     public ResponseEntity<Void> delete(
             @PathVariable
             @Schema(description = "Component identifier", example = "5")
-            Long componentId
+            Long componentId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Schema(description = "ETag the client last saw; the delete is rejected if the component changed since")
+            String ifMatch
     ) {
         Long ownerUserId = AuthContext.getOwnerUserId();
         if (ownerUserId == null) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
         }
-        if (componentService.deleteComponentById(ownerUserId, componentId))
+        Long expectedVersion = ComponentETags.expectedVersion(ifMatch, componentId);
+        if (componentService.deleteComponentById(ownerUserId, componentId, expectedVersion))
             return ResponseEntity.noContent().build();
         else
             return ResponseEntity.notFound().build();
     }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Void> onVersionConflict() {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+    }
+
+    private void checkBulkSize(int size) {
+        if (size > maxBulkItems) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + maxBulkItems + " items per request");
+        }
+    }
+
+    private static List<String> parseFields(String fields) {
+        try {
+            return ComponentFields.parse(fields);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
 }
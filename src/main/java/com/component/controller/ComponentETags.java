@@ -0,0 +1,85 @@
+package com.component.controller;
+
+import com.component.dto.ComponentDto;
+import com.component.repository.OwnerCollectionStamp;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * ETags are weak: the same state is served as JSON, CBOR or Smile and possibly gzipped, and Tomcat
+ * does not compress responses carrying a strong tag. The tag still names the format and the
+ * requested fields, so a cache never answers one representation with another's 304.
+ */
+final class ComponentETags {
+
+    private static final MediaType APPLICATION_SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    // producible formats in the converters' order, JSON first
+    private static final List<MediaType> FORMATS = List.of(
+            MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, APPLICATION_SMILE);
+
+    private ComponentETags() { }
+
+    static String of(ComponentDto component, WebRequest request) {
+        return "W/\"" + component.getId() + "-" + component.getVersion()
+                + suffix(format(request.getHeader(HttpHeaders.ACCEPT))) + "\"";
+    }
+
+    static String of(OwnerCollectionStamp stamp, List<String> fields, WebRequest request) {
+        String fieldsTag = fields == null ? "" : "-f" + Integer.toHexString(String.join(",", fields).hashCode());
+        return "W/\"c" + stamp.count() + "-" + stamp.idSum() + "-" + stamp.weightedVersionSum()
+                + fieldsTag + suffix(format(request.getHeader(HttpHeaders.ACCEPT))) + "\"";
+    }
+
+    /** Response format the Accept header selects: "json", "cbor" or "smile". */
+    static String format(String accept) {
+        if (accept == null || accept.isBlank()) return "json";
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+            MimeTypeUtils.sortBySpecificity(accepted);
+        } catch (IllegalArgumentException e) {
+            // MVC rejects such a request itself; the tag only must not fail first
+            return "json";
+        }
+        for (MediaType type : accepted) {
+            for (MediaType format : FORMATS) {
+                if (type.isCompatibleWith(format)) return format.getSubtype().replace("x-jackson-", "");
+            }
+        }
+        return "json";
+    }
+
+    private static String suffix(String format) {
+        return "json".equals(format) ? "" : "-" + format;
+    }
+
+    /**
+     * Extracts the version a client expects from an If-Match header, or null when
+     * the header is absent or '*'. A tag from any format names the same version.
+     * Tags that can never match fail with 412.
+     */
+    static Long expectedVersion(String ifMatch, Long componentId) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) return null;
+
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) tag = tag.substring(2);
+        String prefix = "\"" + componentId + "-";
+        if (!tag.startsWith(prefix) || !tag.endsWith("\"")) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED);
+        }
+        String version = tag.substring(prefix.length(), tag.length() - 1);
+        int formatStart = version.indexOf('-');
+        if (formatStart >= 0) version = version.substring(0, formatStart);
+        try {
+            return Long.parseLong(version);
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED);
+        }
+    }
+}
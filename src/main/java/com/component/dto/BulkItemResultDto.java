@@ -0,0 +1,67 @@
+package com.component.dto;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+
+public class BulkItemResultDto {
+    @Schema(
+            description = "Position of the item in the request",
+            example = "0"
+    )
+    private int index;
+
+    @Schema(
+            description = "Identifier of the component the item refers to",
+            example = "5"
+    )
+    private Long id;
+
+    @Schema(
+            description = "HTTP status the item would have had as a single request",
+            example = "201"
+    )
+    private int status;
+
+    @Schema(description = "Resulting component, absent for deletes and failed items")
+    private ComponentDto component;
+
+    public BulkItemResultDto() {}
+
+    public BulkItemResultDto(int index, Long id, int status, ComponentDto component) {
+        this.index = index;
+        this.id = id;
+        this.status = status;
+        this.component = component;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public ComponentDto getComponent() {
+        return component;
+    }
+
+    public void setComponent(ComponentDto component) {
+        this.component = component;
+    }
+}
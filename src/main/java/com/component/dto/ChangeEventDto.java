@@ -0,0 +1,34 @@
+package com.component.dto;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+
+public class ChangeEventDto {
+    @Schema(description = "Kind of change", example = "UPDATED", allowableValues = {"CREATED", "UPDATED", "DELETED"})
+    private String type;
+
+    @Schema(description = "Identifier of the changed component", example = "5")
+    private Long componentId;
+
+    public ChangeEventDto() {}
+
+    public ChangeEventDto(String type, Long componentId) {
+        this.type = type;
+        this.componentId = componentId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getComponentId() {
+        return componentId;
+    }
+
+    public void setComponentId(Long componentId) {
+        this.componentId = componentId;
+    }
+}
@@ -53,6 +53,13 @@ public class ComponentDto {
     )
     private String description;
 
+    @Schema(
+            description = "Revision of the component, incremented on every change",
+            example = "3",
+            accessMode = Schema.AccessMode.READ_ONLY
+    )
+    private Long version;
+
     public ComponentDto() {}
 
     public Long getId() {
@@ -118,4 +125,12 @@ public class ComponentDto {
     public void setDescription(String description) {
         this.description = description;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,63 @@
+package com.component.dto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Parses a sparse fieldset ({@code fields=id,name,type}) and cuts components down to it.
+ */
+public final class ComponentFields {
+
+    private static final Set<String> FIELDS = Set.of("id", "ownerUserId", "name", "type", "health",
+            "damageThreshold", "armorClass", "description", "version");
+
+    private ComponentFields() { }
+
+    /**
+     * @return the requested properties in the given order, or null when all properties are wanted
+     * @throws IllegalArgumentException for an empty or unknown property
+     */
+    public static List<String> parse(String fields) {
+        if (fields == null || fields.isBlank()) return null;
+        Set<String> names = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (!FIELDS.contains(name)) {
+                throw new IllegalArgumentException("Unknown field '" + name + "'");
+            }
+            names.add(name);
+        }
+        return List.copyOf(names);
+    }
+
+    public static Map<String, Object> slice(ComponentDto dto, List<String> fields) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (String field : fields) {
+            row.put(field, switch (field) {
+                case "id" -> dto.getId();
+                case "ownerUserId" -> dto.getOwnerUserId();
+                case "name" -> dto.getName();
+                case "type" -> dto.getType();
+                case "health" -> dto.getHealth();
+                case "damageThreshold" -> dto.getDamageThreshold();
+                case "armorClass" -> dto.getArmorClass();
+                case "description" -> dto.getDescription();
+                case "version" -> dto.getVersion();
+                default -> throw new IllegalArgumentException("Unknown field '" + field + "'");
+            });
+        }
+        return row;
+    }
+
+    public static List<Map<String, Object>> slice(List<ComponentDto> dtos, List<String> fields) {
+        List<Map<String, Object>> rows = new ArrayList<>(dtos.size());
+        for (ComponentDto dto : dtos) {
+            rows.add(slice(dto, fields));
+        }
+        return rows;
+    }
+}
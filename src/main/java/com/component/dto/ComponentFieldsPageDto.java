@@ -0,0 +1,40 @@
+package com.component.dto;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.Map;
+
+
+public class ComponentFieldsPageDto {
+    @Schema(description = "Components of this page with only the requested properties")
+    private List<Map<String, Object>> items;
+
+    @Schema(
+            description = "Cursor for the next page, absent on the last page",
+            example = "MTI"
+    )
+    private String nextCursor;
+
+    public ComponentFieldsPageDto() {}
+
+    public ComponentFieldsPageDto(List<Map<String, Object>> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Map<String, Object>> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Map<String, Object>> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
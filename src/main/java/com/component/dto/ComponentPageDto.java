@@ -0,0 +1,39 @@
+package com.component.dto;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+
+public class ComponentPageDto {
+    @Schema(description = "Components of this page, ordered by id")
+    private List<ComponentDto> items;
+
+    @Schema(
+            description = "Cursor for the next page, absent on the last page",
+            example = "MTI"
+    )
+    private String nextCursor;
+
+    public ComponentPageDto() {}
+
+    public ComponentPageDto(List<ComponentDto> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<ComponentDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ComponentDto> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,47 @@
+package com.component.dto;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Validates a JSON merge patch for a component and turns it into the attribute values to write.
+ */
+public final class ComponentPatch {
+
+    private static final Set<String> TEXT_FIELDS = Set.of("name", "type", "description");
+    private static final Set<String> INT_FIELDS = Set.of("health", "damageThreshold", "armorClass");
+
+    private ComponentPatch() { }
+
+    public static Map<String, Object> values(Map<String, Object> patch) {
+        Map<String, Object> values = new HashMap<>();
+        patch.forEach((field, value) -> {
+            if (TEXT_FIELDS.contains(field)) {
+                if (value != null && !(value instanceof String)) {
+                    throw new IllegalArgumentException(field + " must be a string");
+                }
+                values.put(field, value);
+            } else if (INT_FIELDS.contains(field)) {
+                if (!(value instanceof Integer)) {
+                    throw new IllegalArgumentException(field + " must be an integer");
+                }
+                values.put(field, value);
+            } else {
+                throw new IllegalArgumentException(field + " cannot be patched");
+            }
+        });
+        return values;
+    }
+
+    public static Map<String, Object> values(ComponentDto dto) {
+        Map<String, Object> values = new HashMap<>();
+        values.put("name", dto.getName());
+        values.put("type", dto.getType());
+        values.put("health", dto.getHealth());
+        values.put("damageThreshold", dto.getDamageThreshold());
+        values.put("armorClass", dto.getArmorClass());
+        values.put("description", dto.getDescription());
+        return values;
+    }
+}
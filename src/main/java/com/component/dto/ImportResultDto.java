@@ -0,0 +1,25 @@
+package com.component.dto;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+
+public class ImportResultDto {
+    @Schema(
+            description = "Number of components created",
+            example = "25000"
+    )
+    private long imported;
+
+    public ImportResultDto() {}
+
+    public ImportResultDto(long imported) {
+        this.imported = imported;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+}
@@ -0,0 +1,56 @@
+package com.component.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor handed to clients; it wraps the last {@code id} of the previous page and,
+ * for sorted searches, the sort it belongs to and the last sort value.
+ */
+public final class PageCursor {
+
+    private PageCursor() { }
+
+    public static String encode(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Long.toString(lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return 0L;
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid page cursor", e);
+        }
+    }
+
+    public record Keyset(long lastId, String lastValue) { }
+
+    public static String encode(String sort, long lastId, String lastValue) {
+        String raw = sort + ":" + lastId + (lastValue == null ? "" : ":" + lastValue);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return null for an absent cursor
+     * @throws IllegalArgumentException if the cursor is malformed or was issued for a different sort
+     */
+    public static Keyset decode(String cursor, String sort) {
+        if (cursor == null || cursor.isBlank()) return null;
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 3);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid page cursor", e);
+        }
+        if (parts.length < 2 || !parts[0].equals(sort)) {
+            throw new IllegalArgumentException("Page cursor does not belong to sort " + sort);
+        }
+        try {
+            return new Keyset(Long.parseLong(parts[1]), parts.length == 3 ? parts[2] : null);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid page cursor", e);
+        }
+    }
+}
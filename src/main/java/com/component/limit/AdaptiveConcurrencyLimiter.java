@@ -0,0 +1,112 @@
+package com.component.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gradient concurrency limit: the limit follows the ratio between the long-term latency (what the
+ * database can do when healthy) and the latency of the last window. While both agree the limit grows
+ * by roughly sqrt(limit) per window; when recent requests get slower it shrinks proportionally,
+ * so queueing in front of the connection pool is cut off instead of turning into timeouts.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    public enum Priority { READ, WRITE, BULK }
+
+    // latency may rise this much over the long-term average before the limit shrinks
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double LONG_RTT_ALPHA = 0.05;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long windowNanos;
+    private final int minWindowSamples;
+    private final double writeShare;
+    private final double bulkShare;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile int limit;
+
+    // guarded by this
+    private double longRtt;
+    private long windowStart = System.nanoTime();
+    private long windowRttSum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long windowNanos,
+                                      int minWindowSamples, double writeShare, double bulkShare) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.windowNanos = windowNanos;
+        this.minWindowSamples = minWindowSamples;
+        this.writeShare = writeShare;
+        this.bulkShare = bulkShare;
+    }
+
+    /**
+     * Reads may use the whole limit; writes, and bulk writes even more so, are turned away
+     * earlier, so under pressure the remaining capacity goes to reads.
+     *
+     * @return in-flight count at admission, or -1 if the request has to be shed
+     */
+    public int tryAcquire(Priority priority) {
+        double share = switch (priority) {
+            case READ -> 1.0;
+            case WRITE -> writeShare;
+            case BULK -> bulkShare;
+        };
+        int allowed = Math.max(1, (int) (limit * share));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) return -1;
+            if (inFlight.compareAndSet(current, current + 1)) return current + 1;
+        }
+    }
+
+    /**
+     * @param rttNanos time the request took, or a negative value if it must not count as a sample
+     *                 (failed or handed off to an async thread)
+     */
+    public void release(long rttNanos, int inFlightAtStart) {
+        inFlight.decrementAndGet();
+        if (rttNanos >= 0) onSample(rttNanos, inFlightAtStart);
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void onSample(long rttNanos, int inFlightAtStart) {
+        windowRttSum += rttNanos;
+        windowSamples++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtStart);
+
+        long now = System.nanoTime();
+        if (now - windowStart < windowNanos || windowSamples < minWindowSamples) return;
+
+        double shortRtt = (double) windowRttSum / windowSamples;
+        longRtt = longRtt == 0 ? shortRtt : longRtt + (shortRtt - longRtt) * LONG_RTT_ALPHA;
+        // after a slow phase the long-term average recovers faster than it degraded
+        if (longRtt / shortRtt > 2) longRtt *= 0.95;
+
+        int current = limit;
+        // only adjust when the limit was actually in use, otherwise an idle pod would grow without bound
+        if (windowMaxInFlight >= current / 2) {
+            double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+            double target = current * gradient + Math.sqrt(current);
+            double next = current * (1 - SMOOTHING) + target * SMOOTHING;
+            limit = (int) Math.max(minLimit, Math.min(maxLimit, Math.round(next)));
+        }
+
+        windowStart = now;
+        windowRttSum = 0;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+    }
+}
@@ -0,0 +1,109 @@
+package com.component.limit;
+
+import com.component.limit.AdaptiveConcurrencyLimiter.Priority;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Sheds requests above the adaptive concurrency limit with 503 and Retry-After before they reach
+ * JWT verification and the connection pool. Runs right after Boot's HTTP metrics filter, so shed
+ * requests still show up in http.server.requests.
+ */
+@Component
+@Order(ConcurrencyLimitFilter.ORDER)
+@ConditionalOnProperty(name = "app.limiter.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 10;
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final String retryAfterSeconds;
+    private final Map<Priority, Counter> rejected = new EnumMap<>(Priority.class);
+
+    public ConcurrencyLimitFilter(@Value("${app.limiter.initial-limit:20}") int initialLimit,
+                                  @Value("${app.limiter.min-limit:4}") int minLimit,
+                                  @Value("${app.limiter.max-limit:500}") int maxLimit,
+                                  @Value("${app.limiter.window:250ms}") Duration window,
+                                  @Value("${app.limiter.min-window-samples:10}") int minWindowSamples,
+                                  @Value("${app.limiter.write-share:0.9}") double writeShare,
+                                  @Value("${app.limiter.bulk-share:0.5}") double bulkShare,
+                                  @Value("${app.limiter.retry-after:1s}") Duration retryAfter,
+                                  MeterRegistry meterRegistry) {
+        this.limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, window.toNanos(),
+                minWindowSamples, writeShare, bulkShare);
+        this.retryAfterSeconds = Long.toString(Math.max(1, retryAfter.toSeconds()));
+        Gauge.builder("limiter.limit", limiter, AdaptiveConcurrencyLimiter::limit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("limiter.inflight", limiter, AdaptiveConcurrencyLimiter::inFlight)
+                .description("Requests currently admitted by the limiter")
+                .register(meterRegistry);
+        for (Priority priority : Priority.values()) {
+            rejected.put(priority, Counter.builder("limiter.rejected")
+                    .description("Requests shed with 503")
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    // probes, docs and long-lived streams do not take part in the limit
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String p = request.getRequestURI();
+        return p.startsWith("/actuator")
+                || p.startsWith("/api/components/actuator")
+                || p.startsWith("/swagger")
+                || p.startsWith("/v3/api-docs")
+                || p.startsWith("/api/components/swagger")
+                || p.startsWith("/api/components/v3/api-docs")
+                || p.endsWith("/changes");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Priority priority = priority(request);
+        int inFlight = limiter.tryAcquire(priority);
+        if (inFlight < 0) {
+            rejected.get(priority).increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean sample = false;
+        try {
+            chain.doFilter(request, response);
+            // async bodies (e.g. /stream) finish elsewhere, their time here says nothing about load;
+            // bulk requests take as long as their payload, which would read as queueing and shrink the limit
+            sample = priority != Priority.BULK && !request.isAsyncStarted() && response.getStatus() < 500;
+        } finally {
+            limiter.release(sample ? System.nanoTime() - start : -1, inFlight);
+        }
+    }
+
+    private static Priority priority(HttpServletRequest request) {
+        String method = request.getMethod();
+        if ("GET".equals(method) || "HEAD".equals(method)) return Priority.READ;
+        String uri = request.getRequestURI();
+        return uri.endsWith("/bulk") || uri.endsWith("/import") ? Priority.BULK : Priority.WRITE;
+    }
+}
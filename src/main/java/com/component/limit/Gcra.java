@@ -0,0 +1,51 @@
+package com.component.limit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket expressed as the generic cell rate algorithm: the whole bucket state is one
+ * "theoretical arrival time" in an AtomicLong, updated with a CAS loop instead of a lock.
+ * A bucket that is full again is indistinguishable from a new one, so idle buckets can be dropped.
+ */
+final class Gcra {
+
+    /** Outcome of one attempt; {@code waitNanos} is 0 when allowed. */
+    record Decision(boolean allowed, int remaining, long waitNanos) { }
+
+    private final int burst;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+
+    Gcra(double ratePerSecond, int burst) {
+        this.burst = burst;
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / ratePerSecond));
+        this.toleranceNanos = intervalNanos * burst;
+    }
+
+    int burst() {
+        return burst;
+    }
+
+    /** Time after which an untouched bucket is full again. */
+    long refillNanos() {
+        return toleranceNanos;
+    }
+
+    AtomicLong newBucket(long now) {
+        return new AtomicLong(now);
+    }
+
+    Decision tryTake(AtomicLong bucket, long now) {
+        while (true) {
+            long tat = bucket.get();
+            long next = Math.max(tat, now) + intervalNanos;
+            long ahead = next - now;
+            if (ahead > toleranceNanos) {
+                return new Decision(false, 0, ahead - toleranceNanos);
+            }
+            if (bucket.compareAndSet(tat, next)) {
+                return new Decision(true, (int) ((toleranceNanos - ahead) / intervalNanos), 0);
+            }
+        }
+    }
+}
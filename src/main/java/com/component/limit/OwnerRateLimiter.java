@@ -0,0 +1,56 @@
+package com.component.limit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Separate read and write budgets per owner. Buckets live in a Caffeine table (striped, no global
+ * lock) and are dropped once idle for longer than it takes them to refill.
+ */
+@Component
+public class OwnerRateLimiter {
+
+    public enum Budget { READ, WRITE }
+
+    private record Buckets(AtomicLong read, AtomicLong write) { }
+
+    private final Gcra read;
+    private final Gcra write;
+    private final Cache<Long, Buckets> buckets;
+
+    public OwnerRateLimiter(@Value("${app.ratelimit.read.per-second:50}") double readPerSecond,
+                            @Value("${app.ratelimit.read.burst:100}") int readBurst,
+                            @Value("${app.ratelimit.write.per-second:10}") double writePerSecond,
+                            @Value("${app.ratelimit.write.burst:20}") int writeBurst,
+                            @Value("${app.ratelimit.max-owners:500000}") long maxOwners,
+                            MeterRegistry meterRegistry) {
+        this.read = new Gcra(readPerSecond, readBurst);
+        this.write = new Gcra(writePerSecond, writeBurst);
+        long idleNanos = Math.max(read.refillNanos(), write.refillNanos());
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxOwners)
+                .expireAfterAccess(Duration.ofNanos(idleNanos))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "ratelimit.owners");
+    }
+
+    Gcra.Decision tryAcquire(Long ownerUserId, Budget budget) {
+        long now = System.nanoTime();
+        Buckets owner = buckets.get(ownerUserId, id -> new Buckets(read.newBucket(now), write.newBucket(now)));
+        return budget == Budget.READ
+                ? read.tryTake(owner.read(), now)
+                : write.tryTake(owner.write(), now);
+    }
+
+    int limit(Budget budget) {
+        return budget == Budget.READ ? read.burst() : write.burst();
+    }
+}
@@ -0,0 +1,73 @@
+package com.component.limit;
+
+import com.component.auth.AuthContext;
+import com.component.auth.JwtAuthFilter;
+import com.component.limit.OwnerRateLimiter.Budget;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-owner rate limit, applied after JwtAuthFilter has resolved the owner.
+ * Over-budget requests get 429 with Retry-After.
+ */
+@Component
+@Order(JwtAuthFilter.ORDER + 1)
+@ConditionalOnProperty(name = "app.ratelimit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    private final OwnerRateLimiter limiter;
+    private final Map<Budget, Counter> rejected = new EnumMap<>(Budget.class);
+
+    public RateLimitFilter(OwnerRateLimiter limiter, MeterRegistry meterRegistry) {
+        this.limiter = limiter;
+        for (Budget budget : Budget.values()) {
+            rejected.put(budget, Counter.builder("ratelimit.rejected")
+                    .description("Requests refused with 429 because the owner ran out of budget")
+                    .tag("budget", budget.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Long ownerUserId = AuthContext.getOwnerUserId();
+        if (ownerUserId == null) {
+            // public paths skipped by JwtAuthFilter
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String method = request.getMethod();
+        Budget budget = "GET".equals(method) || "HEAD".equals(method) ? Budget.READ : Budget.WRITE;
+        Gcra.Decision decision = limiter.tryAcquire(ownerUserId, budget);
+        response.setHeader(LIMIT_HEADER, Integer.toString(limiter.limit(budget)));
+        response.setHeader(REMAINING_HEADER, Integer.toString(decision.remaining()));
+        if (!decision.allowed()) {
+            rejected.get(budget).increment();
+            long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(decision.waitNanos() + 999_999_999L));
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+}
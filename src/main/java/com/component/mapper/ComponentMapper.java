@@ -4,6 +4,8 @@ package com.component.mapper;
 import com.component.dto.ComponentDto;
 import com.component.model.ComponentEntity;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
 
 import java.util.List;
 
@@ -12,6 +14,12 @@ import java.util.List;
 public interface ComponentMapper {
 
     ComponentDto toDto(ComponentEntity entity);
+    @Mapping(target = "version", ignore = true)
     ComponentEntity toEntity(ComponentDto dto);
     List<ComponentDto> toDto(List<ComponentEntity> entities);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "ownerUserId", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    void updateEntity(ComponentDto dto, @MappingTarget ComponentEntity entity);
 }
@@ -0,0 +1,25 @@
+package com.component.metrics;
+
+import java.util.regex.Pattern;
+
+/**
+ * Reduces a SQL statement to its shape: literals become '?', IN lists collapse to one
+ * placeholder, whitespace and case are normalized. Statements that differ only in values
+ * share a fingerprint.
+ */
+final class SqlFingerprint {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.$])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SqlFingerprint() { }
+
+    static String of(String sql) {
+        String s = STRING_LITERAL.matcher(sql).replaceAll("?");
+        s = NUMBER_LITERAL.matcher(s).replaceAll("?");
+        s = IN_LIST.matcher(s).replaceAll("(?...)");
+        return WHITESPACE.matcher(s).replaceAll(" ").trim().toLowerCase();
+    }
+}
@@ -0,0 +1,139 @@
+package com.component.metrics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Listens to every JDBC statement: keeps call counts and a latency histogram per fingerprint and
+ * hands slow or sampled statements to a background logger, so the request thread never writes logs.
+ */
+@Component
+public class SqlStatementStats implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger("com.component.sql.slow");
+    private static final String START = SqlStatementStats.class.getName() + ".start";
+    private static final String OTHER = "(other)";
+
+    /** Lifetime figures of one fingerprint; times in milliseconds. */
+    public record Report(String fingerprint, long calls, long errors, double totalMs, double meanMs,
+                         double p50Ms, double p99Ms, double maxMs) { }
+
+    private record Entry(String sql, long micros, boolean success) { }
+
+    private static final class Stats {
+        final LongAdder calls = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder totalMicros = new LongAdder();
+        final ConcurrentHistogram micros = new ConcurrentHistogram(2);
+    }
+
+    private final long thresholdMicros;
+    private final double sampleRate;
+    private final int maxFingerprints;
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+    // the same few statements come back over and over, so normalizing each once is enough
+    private final Cache<String, String> fingerprints;
+    private final BlockingQueue<Entry> pending;
+    private final LongAdder droppedLogs = new LongAdder();
+    private final Thread writer;
+
+    public SqlStatementStats(@Value("${app.sql.slow-threshold:200ms}") Duration threshold,
+                             @Value("${app.sql.sample-rate:0.0}") double sampleRate,
+                             @Value("${app.sql.max-fingerprints:1000}") int maxFingerprints,
+                             @Value("${app.sql.log-queue-size:1000}") int logQueueSize) {
+        this.thresholdMicros = threshold.toNanos() / 1000;
+        this.sampleRate = sampleRate;
+        this.maxFingerprints = maxFingerprints;
+        this.fingerprints = Caffeine.newBuilder().maximumSize(10_000).build();
+        this.pending = new ArrayBlockingQueue<>(logQueueSize);
+        this.writer = Thread.ofPlatform().name("sql-slow-log").daemon().start(this::writeLogs);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long start = execInfo.getCustomValue(START, Long.class);
+        if (start == null || queryInfoList.isEmpty()) return;
+        long micros = (System.nanoTime() - start) / 1000;
+
+        String sql = queryInfoList.get(0).getQuery();
+        String fingerprint = fingerprints.get(sql, SqlFingerprint::of);
+        Stats s = stats.get(fingerprint);
+        if (s == null) {
+            // unbounded distinct SQL (e.g. generated literals) must not grow the table forever
+            String key = stats.size() < maxFingerprints ? fingerprint : OTHER;
+            s = stats.computeIfAbsent(key, k -> new Stats());
+        }
+        s.calls.increment();
+        s.totalMicros.add(micros);
+        s.micros.recordValue(micros);
+        if (!execInfo.isSuccess()) s.errors.increment();
+
+        if (micros >= thresholdMicros || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate)) {
+            if (!pending.offer(new Entry(sql, micros, execInfo.isSuccess()))) {
+                droppedLogs.increment();
+            }
+        }
+    }
+
+    /** Fingerprints ordered by total time spent, the most expensive first. */
+    public List<Report> top(int limit) {
+        return stats.entrySet().stream()
+                .map(e -> report(e.getKey(), e.getValue()))
+                .sorted(Comparator.comparingDouble(Report::totalMs).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public long droppedLogs() {
+        return droppedLogs.sum();
+    }
+
+    private static Report report(String fingerprint, Stats s) {
+        long calls = s.calls.sum();
+        double totalMs = s.totalMicros.sum() / 1000.0;
+        return new Report(fingerprint, calls, s.errors.sum(), totalMs, calls == 0 ? 0 : totalMs / calls,
+                s.micros.getValueAtPercentile(50) / 1000.0,
+                s.micros.getValueAtPercentile(99) / 1000.0,
+                s.micros.getMaxValue() / 1000.0);
+    }
+
+    private void writeLogs() {
+        try {
+            while (true) {
+                Entry e = pending.take();
+                log.info("{} ms{}: {}", e.micros() / 1000.0, e.success() ? "" : " (failed)", e.sql());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        writer.interrupt();
+    }
+}
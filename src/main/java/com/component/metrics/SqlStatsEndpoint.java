@@ -0,0 +1,27 @@
+package com.component.metrics;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/sqlstats?limit=20}: the statements that took the most database time since startup.
+ */
+@Component
+@Endpoint(id = "sqlstats")
+public class SqlStatsEndpoint {
+
+    private final SqlStatementStats stats;
+
+    public SqlStatsEndpoint(SqlStatementStats stats) {
+        this.stats = stats;
+    }
+
+    @ReadOperation
+    public List<SqlStatementStats.Report> top(@Nullable Integer limit) {
+        return stats.top(limit == null ? 20 : Math.max(1, limit));
+    }
+}
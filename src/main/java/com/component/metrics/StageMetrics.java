@@ -0,0 +1,118 @@
+package com.component.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Times the stages of a request (token verification, mapping, serialization) as
+ * {@code component.stage}, tagged with stage, endpoint and outcome.
+ */
+@Component
+public class StageMetrics {
+
+    // endpoint of the request an async task works for, where no request is bound to the thread
+    private static final ThreadLocal<String> ASYNC_ENDPOINT = new ThreadLocal<>();
+
+    private final MeterRegistry registry;
+
+    public StageMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    public void stop(Timer.Sample sample, String stage, String outcome) {
+        sample.stop(timer(stage, endpoint(), outcome));
+    }
+
+    /**
+     * Records a stage timed before the request was dispatched. Call it once the chain has returned:
+     * only then does the request carry the matched handler pattern.
+     */
+    public void record(String stage, String outcome, long nanos, HttpServletRequest request) {
+        timer(stage, endpoint(request), outcome).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public <T> T record(String stage, Supplier<T> work) {
+        Timer.Sample sample = start();
+        String outcome = "error";
+        try {
+            T result = work.get();
+            outcome = "success";
+            return result;
+        } finally {
+            stop(sample, stage, outcome);
+        }
+    }
+
+    /** Work that writes to a stream, such as a message converter writing a response body. */
+    @FunctionalInterface
+    public interface Write {
+        void run() throws IOException;
+    }
+
+    public void recordWrite(String stage, Write work) throws IOException {
+        Timer.Sample sample = start();
+        String outcome = "error";
+        try {
+            work.run();
+            outcome = "success";
+        } finally {
+            stop(sample, stage, outcome);
+        }
+    }
+
+    /** Endpoint of the current request, to be bound with {@link #bindEndpoint} on the thread that continues it. */
+    public static String currentEndpoint() {
+        return endpoint();
+    }
+
+    /** Tags stages timed on this thread with the given endpoint until the scope is closed. */
+    public static Scope bindEndpoint(String endpoint) {
+        String previous = ASYNC_ENDPOINT.get();
+        ASYNC_ENDPOINT.set(endpoint);
+        return () -> {
+            if (previous == null) ASYNC_ENDPOINT.remove();
+            else ASYNC_ENDPOINT.set(previous);
+        };
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private Timer timer(String stage, String endpoint, String outcome) {
+        return Timer.builder("component.stage")
+                .tag("stage", stage)
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private static String endpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servlet) return endpoint(servlet.getRequest());
+        String bound = ASYNC_ENDPOINT.get();
+        return bound != null ? bound : "none";
+    }
+
+    // the matched handler pattern keeps the tag bounded, unlike the raw URI
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : "UNKNOWN");
+    }
+}
@@ -4,15 +4,21 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.PartitionKey;
 
 @Entity
 @Table(name = "components")
 public class ComponentEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // pooled sequence ids let Hibernate batch inserts, IDENTITY forces one statement per row
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "components_seq")
+    @SequenceGenerator(name = "components_seq", sequenceName = "components_seq", allocationSize = 50)
     private Long id;
 
+    // added to Hibernate's own update and delete statements so a partitioned table is pruned to one partition
+    @PartitionKey
     private Long ownerUserId;
 
     private String name;
@@ -22,6 +28,10 @@ public class ComponentEntity {
     private int armorClass;
     private String description;
 
+    @Version
+    @ColumnDefault("0")
+    private long version;
+
     public ComponentEntity() {}
 
     public Long getId() {
@@ -87,4 +97,12 @@ public class ComponentEntity {
     public void setDescription(String description) {
         this.description = description;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
@@ -1,17 +1,46 @@
 package com.component.repository;
 
 import com.component.model.ComponentEntity;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
-public interface ComponentRepository extends JpaRepository<ComponentEntity, Long> {
+public interface ComponentRepository extends JpaRepository<ComponentEntity, Long>, ComponentRepositoryCustom {
     List<ComponentEntity> findByOwnerUserId(Long ownerUserId);
 
-    @Lock(jakarta.persistence.LockModeType.PESSIMISTIC_READ)
+    @Query("select new com.component.repository.OwnerCollectionStamp(count(c), coalesce(sum(c.id), 0L), coalesce(sum(c.id * c.version), 0L)) "
+            + "from ComponentEntity c where c.ownerUserId = :ownerUserId")
+    OwnerCollectionStamp stampByOwnerUserId(@Param("ownerUserId") Long ownerUserId);
+
+    List<ComponentEntity> findByOwnerUserIdAndIdIn(Long ownerUserId, Collection<Long> ids);
+
+    @Modifying
+    @Query("delete from ComponentEntity c where c.ownerUserId = :ownerUserId and c.id in :ids")
+    int deleteByOwnerUserIdAndIdIn(@Param("ownerUserId") Long ownerUserId, @Param("ids") Collection<Long> ids);
+
+    List<ComponentEntity> findByOwnerUserIdAndIdGreaterThanOrderByIdAsc(Long ownerUserId, Long afterId, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<ComponentEntity> streamByOwnerUserIdOrderByIdAsc(Long ownerUserId);
+
     Optional<ComponentEntity> findByOwnerUserIdAndId(Long ownerUserId, Long componentId);
+
+    boolean existsByOwnerUserIdAndId(Long ownerUserId, Long componentId);
 }
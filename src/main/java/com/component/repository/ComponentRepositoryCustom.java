@@ -0,0 +1,43 @@
+package com.component.repository;
+
+import com.component.model.ComponentEntity;
+import jakarta.persistence.Tuple;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface ComponentRepositoryCustom {
+
+    /**
+     * Writes the given attribute values with a single owner-scoped UPDATE and bumps the version.
+     *
+     * @param expectedVersion version the row must still have, or null to skip the check
+     * @return number of rows changed, 0 if the component is missing, foreign or stale
+     */
+    int updateFields(Long ownerUserId, Long componentId, Long expectedVersion, Map<String, Object> values);
+
+    /**
+     * Deletes a component with a single owner-scoped DELETE.
+     *
+     * @param expectedVersion version the row must still have, or null to skip the check
+     * @return number of rows removed, 0 if the component is missing, foreign or stale
+     */
+    int deleteOwned(Long ownerUserId, Long componentId, Long expectedVersion);
+
+    /**
+     * Runs a filtered, keyset-paginated search over one owner's components.
+     *
+     * @param after last row of the previous page, or null for the first page
+     */
+    List<ComponentEntity> search(Long ownerUserId, ComponentSearch search, ComponentSearch.After after, int limit);
+
+    /**
+     * Same search as {@link #search}, but reads only the given attributes (plus id and the sort attribute)
+     * instead of whole entities. Each tuple element is aliased with its attribute name.
+     *
+     * @param limit maximum number of rows, or 0 for all of them
+     */
+    List<Tuple> searchColumns(Long ownerUserId, ComponentSearch search, ComponentSearch.After after, int limit,
+                              Collection<String> attributes);
+}
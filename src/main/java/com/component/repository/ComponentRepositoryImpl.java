@@ -0,0 +1,166 @@
+package com.component.repository;
+
+import com.component.model.ComponentEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaDelete;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.Session;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+class ComponentRepositoryImpl implements ComponentRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    ComponentRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public int updateFields(Long ownerUserId, Long componentId, Long expectedVersion, Map<String, Object> values) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<ComponentEntity> update = cb.createCriteriaUpdate(ComponentEntity.class);
+        Root<ComponentEntity> c = update.from(ComponentEntity.class);
+
+        values.forEach(update::set);
+        update.set(c.<Long>get("version"), cb.sum(c.<Long>get("version"), 1L));
+
+        update.where(ownedBy(cb, c, ownerUserId, componentId, expectedVersion));
+
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    public int deleteOwned(Long ownerUserId, Long componentId, Long expectedVersion) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaDelete<ComponentEntity> delete = cb.createCriteriaDelete(ComponentEntity.class);
+        Root<ComponentEntity> c = delete.from(ComponentEntity.class);
+        delete.where(ownedBy(cb, c, ownerUserId, componentId, expectedVersion));
+
+        return entityManager.createQuery(delete).executeUpdate();
+    }
+
+    @Override
+    public List<ComponentEntity> search(Long ownerUserId, ComponentSearch search, ComponentSearch.After after, int limit) {
+        HibernateCriteriaBuilder cb = entityManager.unwrap(Session.class).getCriteriaBuilder();
+        CriteriaQuery<ComponentEntity> query = cb.createQuery(ComponentEntity.class);
+        Root<ComponentEntity> c = query.from(ComponentEntity.class);
+        filterAndOrder(cb, query, c, ownerUserId, search, after);
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<Tuple> searchColumns(Long ownerUserId, ComponentSearch search, ComponentSearch.After after, int limit,
+                                     Collection<String> attributes) {
+        HibernateCriteriaBuilder cb = entityManager.unwrap(Session.class).getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<ComponentEntity> c = query.from(ComponentEntity.class);
+
+        // id and the sort value are always read, the caller needs them for the next cursor
+        Set<String> columns = new LinkedHashSet<>(attributes);
+        columns.add("id");
+        columns.add(search.sort().attribute());
+        query.multiselect(columns.stream().<Selection<?>>map(a -> c.get(a).alias(a)).toList());
+        filterAndOrder(cb, query, c, ownerUserId, search, after);
+
+        TypedQuery<Tuple> typed = entityManager.createQuery(query);
+        if (limit > 0) typed.setMaxResults(limit);
+        return typed.getResultList();
+    }
+
+    // Hibernate's builder is needed to keep components without a name last in both directions
+    private static void filterAndOrder(HibernateCriteriaBuilder cb, CriteriaQuery<?> query, Root<ComponentEntity> c,
+                                       Long ownerUserId, ComponentSearch search, ComponentSearch.After after) {
+        List<Predicate> where = new ArrayList<>();
+        where.add(cb.equal(c.get("ownerUserId"), ownerUserId));
+        if (search.type() != null) {
+            where.add(cb.equal(c.get("type"), search.type()));
+        }
+        if (search.namePrefix() != null) {
+            where.add(cb.like(c.get("name"), escapeLike(search.namePrefix()) + "%", '\\'));
+        }
+        range(cb, where, c.get("health"), search.minHealth(), search.maxHealth());
+        range(cb, where, c.get("damageThreshold"), search.minDamageThreshold(), search.maxDamageThreshold());
+        range(cb, where, c.get("armorClass"), search.minArmorClass(), search.maxArmorClass());
+        if (after != null) {
+            where.add(after(cb, c, search, after));
+        }
+        query.where(where.toArray(Predicate[]::new));
+
+        // each order matches an index, (owner_user_id, col, id) read forwards or backwards, so a page
+        // is read in index order; descending names need their own index to keep nulls last
+        Path<Object> id = c.get("id");
+        boolean desc = search.descending();
+        if (search.sort() == ComponentSortField.ID) {
+            query.orderBy(desc ? cb.desc(id) : cb.asc(id));
+        } else if (search.sort().nullable()) {
+            Path<Object> sortPath = c.get(search.sort().attribute());
+            query.orderBy(desc ? cb.desc(sortPath, false) : cb.asc(sortPath, false),
+                    desc ? cb.desc(id) : cb.asc(id));
+        } else {
+            Path<Object> sortPath = c.get(search.sort().attribute());
+            query.orderBy(desc ? cb.desc(sortPath) : cb.asc(sortPath), desc ? cb.desc(id) : cb.asc(id));
+        }
+    }
+
+    private static void range(CriteriaBuilder cb, List<Predicate> where, Path<Integer> path, Integer min, Integer max) {
+        if (min != null) where.add(cb.greaterThanOrEqualTo(path, min));
+        if (max != null) where.add(cb.lessThanOrEqualTo(path, max));
+    }
+
+    // keyset condition: rows strictly after (value, id) in the requested order, nulls last.
+    // The leading value >= last (<= when descending) is redundant but gives the index a range start,
+    // so deep pages do not scan the owner's rows from the beginning.
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static Predicate after(CriteriaBuilder cb, Root<ComponentEntity> c, ComponentSearch search,
+                                   ComponentSearch.After after) {
+        boolean desc = search.descending();
+        Path<Long> id = c.get("id");
+        Predicate idAfter = desc ? cb.lessThan(id, after.id()) : cb.greaterThan(id, after.id());
+        if (search.sort() == ComponentSortField.ID) {
+            return idAfter;
+        }
+
+        Path<Comparable> value = c.get(search.sort().attribute());
+        if (after.value() == null) {
+            return cb.and(cb.isNull(value), idAfter);
+        }
+        Comparable last = (Comparable) after.value();
+        Predicate from = desc ? cb.lessThanOrEqualTo(value, last) : cb.greaterThanOrEqualTo(value, last);
+        Predicate valueAfter = desc ? cb.lessThan(value, last) : cb.greaterThan(value, last);
+        Predicate keyset = cb.and(from, cb.or(valueAfter, idAfter));
+        return search.sort().nullable() ? cb.or(keyset, cb.isNull(value)) : keyset;
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static Predicate[] ownedBy(CriteriaBuilder cb, Root<ComponentEntity> c,
+                                       Long ownerUserId, Long componentId, Long expectedVersion) {
+        List<Predicate> where = new ArrayList<>(3);
+        where.add(cb.equal(c.get("id"), componentId));
+        where.add(cb.equal(c.get("ownerUserId"), ownerUserId));
+        if (expectedVersion != null) {
+            where.add(cb.equal(c.get("version"), expectedVersion));
+        }
+        return where.toArray(Predicate[]::new);
+    }
+}
@@ -0,0 +1,36 @@
+package com.component.repository;
+
+/**
+ * Filters and ordering of a component search. Null filters are not applied.
+ */
+public record ComponentSearch(String type,
+                              String namePrefix,
+                              Integer minHealth,
+                              Integer maxHealth,
+                              Integer minDamageThreshold,
+                              Integer maxDamageThreshold,
+                              Integer minArmorClass,
+                              Integer maxArmorClass,
+                              ComponentSortField sort,
+                              boolean descending) {
+
+    /**
+     * Position of the last row of the previous page. The value is null when sorting by id
+     * and once the page has moved into the components without a name.
+     */
+    public record After(Object value, long id) { }
+
+    /** Every component of the owner in id order. */
+    public static ComponentSearch all() {
+        return new ComponentSearch(null, null, null, null, null, null, null, null, ComponentSortField.ID, false);
+    }
+
+    /** Sort as clients pass it: the attribute name, prefixed with '-' for descending order. */
+    public String sortParam() {
+        return (descending ? "-" : "") + sort.attribute();
+    }
+
+    public After after(long lastId, String lastValue) {
+        return new After(sort.parseCursorValue(lastValue), lastId);
+    }
+}
@@ -0,0 +1,48 @@
+package com.component.repository;
+
+import com.component.model.ComponentEntity;
+
+import java.util.function.Function;
+
+public enum ComponentSortField {
+    ID("id", entity -> null),
+    NAME("name", ComponentEntity::getName),
+    HEALTH("health", ComponentEntity::getHealth),
+    DAMAGE_THRESHOLD("damageThreshold", ComponentEntity::getDamageThreshold),
+    ARMOR_CLASS("armorClass", ComponentEntity::getArmorClass);
+
+    private final String attribute;
+    private final Function<ComponentEntity, Object> value;
+
+    ComponentSortField(String attribute, Function<ComponentEntity, Object> value) {
+        this.attribute = attribute;
+        this.value = value;
+    }
+
+    public String attribute() {
+        return attribute;
+    }
+
+    /** Only names can be missing; the int columns are NOT NULL. */
+    public boolean nullable() {
+        return this == NAME;
+    }
+
+    public static ComponentSortField fromAttribute(String attribute) {
+        for (ComponentSortField field : values()) {
+            if (field.attribute.equals(attribute)) return field;
+        }
+        throw new IllegalArgumentException("Cannot sort by " + attribute);
+    }
+
+    /** Sort value of the row as written into a page cursor; null for id and for missing names. */
+    public String cursorValue(ComponentEntity entity) {
+        Object v = value.apply(entity);
+        return v == null ? null : v.toString();
+    }
+
+    public Object parseCursorValue(String raw) {
+        if (raw == null || this == ID) return null;
+        return this == NAME ? raw : Integer.valueOf(raw);
+    }
+}
@@ -0,0 +1,24 @@
+package com.component.repository;
+
+import com.component.dto.ComponentDto;
+
+import java.util.List;
+
+/**
+ * Cheap fingerprint of an owner's component set. Ids are never reused, so creates and deletes
+ * change the id sum. Updates raise one component's version, which moves the version sum weighted
+ * by that component's id. The highest id is not enough: ids come from per-instance sequence
+ * blocks, so a new component can get a lower id than an existing one.
+ */
+public record OwnerCollectionStamp(long count, long idSum, long weightedVersionSum) {
+
+    public static OwnerCollectionStamp of(List<ComponentDto> components) {
+        long idSum = 0;
+        long weightedVersionSum = 0;
+        for (ComponentDto c : components) {
+            idSum += c.getId();
+            weightedVersionSum += c.getId() * (c.getVersion() == null ? 0 : c.getVersion());
+        }
+        return new OwnerCollectionStamp(components.size(), idSum, weightedVersionSum);
+    }
+}
@@ -0,0 +1,11 @@
+package com.component.service;
+
+/**
+ * Published by {@link ComponentService} for every write; listeners that react to it
+ * should use {@code @TransactionalEventListener} so they only see committed changes.
+ * An {@code IMPORTED} event stands for many new components at once and has no componentId.
+ */
+public record ComponentChangedEvent(Long ownerUserId, Long componentId, ChangeType type) {
+
+    public enum ChangeType { CREATED, UPDATED, DELETED, IMPORTED }
+}
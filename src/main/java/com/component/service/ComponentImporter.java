@@ -0,0 +1,176 @@
+package com.component.service;
+
+import com.component.dto.ComponentDto;
+import com.component.mapper.ComponentMapper;
+import com.component.model.ComponentEntity;
+import com.component.repository.ComponentRepository;
+import com.component.service.ComponentChangedEvent.ChangeType;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Imports a stream of components for one owner in a single transaction. On PostgreSQL rows go in
+ * through COPY, chunk by chunk; elsewhere through batched inserts. Memory stays bounded by the chunk size.
+ */
+@Service
+public class ComponentImporter {
+
+    private static final String COPY_SQL = "copy components (id, owner_user_id, name, type, health, "
+            + "damage_threshold, armor_class, description, version) from stdin (format csv)";
+    private static final String RESERVE_IDS_SQL = "select nextval('components_seq') from generate_series(1, ?)";
+    // allocationSize of the entity's sequence generator; ids handed out here use the same pooled blocks
+    private static final int ID_BLOCK = 50;
+
+    private final ComponentRepository repo;
+    private final ComponentMapper mapper;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher events;
+    private final int chunkSize;
+    private final long maxRows;
+
+    public ComponentImporter(ComponentRepository repo, ComponentMapper mapper, EntityManager entityManager,
+                             ApplicationEventPublisher events,
+                             @Value("${app.import.chunk-size:10000}") int chunkSize,
+                             @Value("${app.import.max-rows:2000000}") long maxRows) {
+        this.repo = repo;
+        this.mapper = mapper;
+        this.entityManager = entityManager;
+        this.events = events;
+        this.chunkSize = chunkSize;
+        this.maxRows = maxRows;
+    }
+
+    /**
+     * Ids and owners in the input are ignored; every row gets a new id and the given owner.
+     *
+     * @return number of components created
+     * @throws IllegalArgumentException if the input has more than the allowed number of rows
+     */
+    @Transactional
+    public long importComponents(Long ownerUserId, Iterator<ComponentDto> rows) {
+        Session session = entityManager.unwrap(Session.class);
+        boolean copySupported = session.doReturningWork(connection -> connection.isWrapperFor(PGConnection.class));
+        long imported = copySupported
+                ? session.doReturningWork(connection -> copy(connection, ownerUserId, rows))
+                : batchInsert(ownerUserId, rows);
+        if (imported > 0) {
+            events.publishEvent(new ComponentChangedEvent(ownerUserId, null, ChangeType.IMPORTED));
+        }
+        return imported;
+    }
+
+    private long copy(Connection connection, Long ownerUserId, Iterator<ComponentDto> rows) throws SQLException {
+        CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+        List<ComponentDto> chunk = new ArrayList<>(chunkSize);
+        long total = 0;
+        while (rows.hasNext()) {
+            chunk.clear();
+            while (rows.hasNext() && chunk.size() < chunkSize) chunk.add(rows.next());
+            checkLimit(total + chunk.size());
+
+            // ids first: no other statement can run on the connection while a COPY is open
+            long[] ids = reserveIds(connection, chunk.size());
+            StringBuilder csv = new StringBuilder(chunk.size() * 160);
+            for (int i = 0; i < chunk.size(); i++) {
+                appendCsv(csv, ids[i], ownerUserId, chunk.get(i));
+            }
+            try {
+                total += copyManager.copyIn(COPY_SQL,
+                        new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return total;
+    }
+
+    private static long[] reserveIds(Connection connection, int count) throws SQLException {
+        long[] ids = new long[count];
+        int filled = 0;
+        while (filled < count) {
+            try (PreparedStatement ps = connection.prepareStatement(RESERVE_IDS_SQL)) {
+                ps.setInt(1, (count - filled + ID_BLOCK - 1) / ID_BLOCK);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        long hi = rs.getLong(1);
+                        // Hibernate's pooled optimizer treats the sequence's first values specially, leave them to it
+                        if (hi < ID_BLOCK) continue;
+                        for (long id = hi - ID_BLOCK + 1; id <= hi && filled < count; id++) ids[filled++] = id;
+                    }
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static void appendCsv(StringBuilder csv, long id, Long ownerUserId, ComponentDto dto) {
+        csv.append(id).append(',').append(ownerUserId).append(',');
+        text(csv, dto.getName()).append(',');
+        text(csv, dto.getType()).append(',');
+        csv.append(dto.getHealth()).append(',')
+                .append(dto.getDamageThreshold()).append(',')
+                .append(dto.getArmorClass()).append(',');
+        text(csv, dto.getDescription()).append(",0\n");
+    }
+
+    // an unquoted empty field is NULL in COPY csv, so every non-null string is quoted
+    private static StringBuilder text(StringBuilder csv, String value) {
+        if (value == null) return csv;
+        csv.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') csv.append('"');
+            csv.append(c);
+        }
+        return csv.append('"');
+    }
+
+    private long batchInsert(Long ownerUserId, Iterator<ComponentDto> rows) {
+        List<ComponentEntity> chunk = new ArrayList<>(chunkSize);
+        long total = 0;
+        while (rows.hasNext()) {
+            ComponentDto dto = rows.next();
+            dto.setId(null);
+            dto.setOwnerUserId(ownerUserId);
+            chunk.add(mapper.toEntity(dto));
+            if (chunk.size() == chunkSize) total = flush(chunk, total);
+        }
+        return flush(chunk, total);
+    }
+
+    private long flush(List<ComponentEntity> chunk, long total) {
+        if (chunk.isEmpty()) return total;
+        checkLimit(total + chunk.size());
+        repo.saveAll(chunk);
+        repo.flush();
+        // keep the persistence context from holding every imported row
+        entityManager.clear();
+        long flushed = total + chunk.size();
+        chunk.clear();
+        return flushed;
+    }
+
+    private void checkLimit(long rows) {
+        if (rows > maxRows) {
+            throw new IllegalArgumentException("At most " + maxRows + " components per import");
+        }
+    }
+}
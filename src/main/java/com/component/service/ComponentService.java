@@ -1,67 +1,329 @@
 package com.component.service;
 
+import com.component.cache.OwnerComponentCache;
+import com.component.cache.SingleFlight;
+import com.component.dto.BulkItemResultDto;
 import com.component.dto.ComponentDto;
+import com.component.dto.ComponentFields;
+import com.component.dto.ComponentFieldsPageDto;
+import com.component.dto.ComponentPageDto;
+import com.component.dto.ComponentPatch;
+import com.component.dto.PageCursor;
 import com.component.mapper.ComponentMapper;
+import com.component.metrics.StageMetrics;
 import com.component.model.ComponentEntity;
 import com.component.repository.ComponentRepository;
+import com.component.repository.ComponentSearch;
+import com.component.repository.ComponentSortField;
+import com.component.repository.OwnerCollectionStamp;
+import com.component.service.ComponentChangedEvent.ChangeType;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+@Timed("component.service")
 @Service
 public class ComponentService {
 
     private final ComponentRepository repo;
     private final ComponentMapper mapper;
+    private final OwnerComponentCache cache;
+    private final ApplicationEventPublisher events;
+    private final EntityManager entityManager;
+    private final StageMetrics metrics;
+    private final SingleFlight singleFlight;
+    private final TransactionTemplate readOnly;
+    private final int maxPageSize;
 
-    public ComponentService(ComponentRepository repo, ComponentMapper mapper) {
+    public ComponentService(ComponentRepository repo, ComponentMapper mapper,
+                            OwnerComponentCache cache, ApplicationEventPublisher events,
+                            EntityManager entityManager, StageMetrics metrics,
+                            SingleFlight singleFlight, PlatformTransactionManager transactionManager,
+                            @Value("${app.pagination.max-limit:500}") int maxPageSize) {
         this.repo = repo;
         this.mapper = mapper;
+        this.cache = cache;
+        this.events = events;
+        this.entityManager = entityManager;
+        this.metrics = metrics;
+        this.singleFlight = singleFlight;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.maxPageSize = maxPageSize;
     }
 
+    // The coalesced reads below are not @Transactional: only the caller that actually loads opens a
+    // read transaction (and takes a pooled connection), callers waiting for its result do not.
     public List<ComponentDto> getAllForUser(Long userId) {
-        List<ComponentEntity> components = repo.findByOwnerUserId(userId);
-        return mapper.toDto(components);
+        List<ComponentDto> cached = cache.getIfPresent(userId);
+        if (cached != null) return cached;
+        return singleFlight.execute("all", userId, null, () -> readOnly.execute(status ->
+                cache.get(userId, id -> {
+                    List<ComponentEntity> rows = repo.findByOwnerUserId(id);
+                    return metrics.record("map", () -> mapper.toDto(rows));
+                })));
+    }
+
+    public ComponentPageDto getPageForUser(Long ownerUserId, long afterId, int limit) {
+        int pageSize = Math.min(limit, maxPageSize);
+        return singleFlight.execute("page", ownerUserId, List.of(afterId, pageSize),
+                () -> readOnly.execute(status -> loadPage(ownerUserId, afterId, pageSize)));
+    }
+
+    private ComponentPageDto loadPage(Long ownerUserId, long afterId, int pageSize) {
+        // one extra row tells us whether there is a next page without a count query
+        List<ComponentEntity> rows = repo.findByOwnerUserIdAndIdGreaterThanOrderByIdAsc(
+                ownerUserId, afterId, Limit.of(pageSize + 1));
+        if (rows.size() <= pageSize) {
+            return new ComponentPageDto(metrics.record("map", () -> mapper.toDto(rows)), null);
+        }
+        List<ComponentEntity> page = rows.subList(0, pageSize);
+        return new ComponentPageDto(metrics.record("map", () -> mapper.toDto(page)),
+                PageCursor.encode(page.get(pageSize - 1).getId()));
+    }
+
+    @Transactional(readOnly = true)
+    public ComponentPageDto search(Long ownerUserId, ComponentSearch search, ComponentSearch.After after, int limit) {
+        int pageSize = Math.min(limit, maxPageSize);
+        List<ComponentEntity> rows = repo.search(ownerUserId, search, after, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new ComponentPageDto(metrics.record("map", () -> mapper.toDto(rows)), null);
+        }
+        List<ComponentEntity> page = rows.subList(0, pageSize);
+        ComponentEntity last = page.get(pageSize - 1);
+        return new ComponentPageDto(metrics.record("map", () -> mapper.toDto(page)),
+                PageCursor.encode(search.sortParam(), last.getId(), search.sort().cursorValue(last)));
+    }
+
+    /**
+     * Sparse variant of {@link #getAllForUser(Long)}: served from the cached list when it is there,
+     * otherwise only the requested columns are read and the cache is left alone.
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllForUser(Long userId, List<String> fields) {
+        List<ComponentDto> cached = cache.getIfPresent(userId);
+        if (cached != null) {
+            return metrics.record("map", () -> ComponentFields.slice(cached, fields));
+        }
+        List<Tuple> rows = repo.searchColumns(userId, ComponentSearch.all(), null, 0, fields);
+        return metrics.record("map", () -> toMaps(rows, fields));
+    }
+
+    @Transactional(readOnly = true)
+    public ComponentFieldsPageDto getPageForUser(Long ownerUserId, long afterId, int limit, List<String> fields) {
+        ComponentSearch.After after = afterId == 0 ? null : new ComponentSearch.After(null, afterId);
+        return columnsPage(ownerUserId, ComponentSearch.all(), after, limit, fields,
+                last -> PageCursor.encode(last.get("id", Long.class)));
+    }
+
+    @Transactional(readOnly = true)
+    public ComponentFieldsPageDto search(Long ownerUserId, ComponentSearch search, ComponentSearch.After after,
+                                         int limit, List<String> fields) {
+        return columnsPage(ownerUserId, search, after, limit, fields, last -> {
+            Object value = search.sort() == ComponentSortField.ID ? null : last.get(search.sort().attribute());
+            return PageCursor.encode(search.sortParam(), last.get("id", Long.class),
+                    value == null ? null : value.toString());
+        });
+    }
+
+    private ComponentFieldsPageDto columnsPage(Long ownerUserId, ComponentSearch search, ComponentSearch.After after,
+                                               int limit, List<String> fields, Function<Tuple, String> cursor) {
+        int pageSize = Math.min(limit, maxPageSize);
+        List<Tuple> rows = repo.searchColumns(ownerUserId, search, after, pageSize + 1, fields);
+        if (rows.size() <= pageSize) {
+            return new ComponentFieldsPageDto(metrics.record("map", () -> toMaps(rows, fields)), null);
+        }
+        List<Tuple> page = rows.subList(0, pageSize);
+        return new ComponentFieldsPageDto(metrics.record("map", () -> toMaps(page, fields)),
+                cursor.apply(page.get(pageSize - 1)));
+    }
+
+    private static List<Map<String, Object>> toMaps(List<Tuple> rows, List<String> fields) {
+        List<Map<String, Object>> maps = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            for (String field : fields) {
+                map.put(field, row.get(field));
+            }
+            maps.add(map);
+        }
+        return maps;
+    }
+
+    @Transactional(readOnly = true)
+    public void forEachForUser(Long ownerUserId, Consumer<ComponentDto> action) {
+        try (Stream<ComponentEntity> rows = repo.streamByOwnerUserIdOrderByIdAsc(ownerUserId)) {
+            rows.forEach(entity -> {
+                action.accept(mapper.toDto(entity));
+                // keep the persistence context flat while streaming large result sets
+                entityManager.detach(entity);
+            });
+        }
     }
 
     @Transactional
     public Optional<ComponentDto> createComponent(ComponentDto dto, Long ownerUserId) {
+        dto.setId(null);
         dto.setOwnerUserId(ownerUserId);
         ComponentEntity component = mapper.toEntity(dto);
         ComponentEntity componentSaved = repo.save(component);
 
+        events.publishEvent(new ComponentChangedEvent(ownerUserId, componentSaved.getId(), ChangeType.CREATED));
         return Optional.of(mapper.toDto(componentSaved));
     }
 
     @Transactional
-    public Optional<ComponentDto> updateComponent(Long componentId, Long ownerUserId, ComponentDto component) {
-        if (repo.findByOwnerUserIdAndId(ownerUserId, componentId).isEmpty())
-            return Optional.empty();
+    public List<BulkItemResultDto> createComponents(List<ComponentDto> dtos, Long ownerUserId) {
+        List<ComponentEntity> entities = dtos.stream()
+                .map(dto -> {
+                    dto.setId(null);
+                    dto.setOwnerUserId(ownerUserId);
+                    return mapper.toEntity(dto);
+                })
+                .toList();
+        List<ComponentEntity> saved = repo.saveAll(entities);
+        repo.flush();
+
+        List<BulkItemResultDto> results = new ArrayList<>(saved.size());
+        for (int i = 0; i < saved.size(); i++) {
+            ComponentEntity entity = saved.get(i);
+            events.publishEvent(new ComponentChangedEvent(ownerUserId, entity.getId(), ChangeType.CREATED));
+            results.add(new BulkItemResultDto(i, entity.getId(), 201, mapper.toDto(entity)));
+        }
+        return results;
+    }
+
+    @Transactional
+    public List<BulkItemResultDto> updateComponents(List<ComponentDto> dtos, Long ownerUserId) {
+        List<Long> ids = dtos.stream().map(ComponentDto::getId).filter(Objects::nonNull).toList();
+        Map<Long, ComponentEntity> existing = ids.isEmpty() ? Map.of() : repo.findByOwnerUserIdAndIdIn(ownerUserId, ids).stream()
+                .collect(Collectors.toMap(ComponentEntity::getId, Function.identity()));
+
+        // managed entities are changed in place; dirty checking turns them into one batched UPDATE
+        for (ComponentDto dto : dtos) {
+            ComponentEntity entity = dto.getId() == null ? null : existing.get(dto.getId());
+            if (entity != null) mapper.updateEntity(dto, entity);
+        }
+        repo.flush();
+
+        List<BulkItemResultDto> results = new ArrayList<>(dtos.size());
+        for (int i = 0; i < dtos.size(); i++) {
+            Long id = dtos.get(i).getId();
+            ComponentEntity entity = id == null ? null : existing.get(id);
+            if (entity == null) {
+                results.add(new BulkItemResultDto(i, id, id == null ? 400 : 404, null));
+                continue;
+            }
+            events.publishEvent(new ComponentChangedEvent(ownerUserId, id, ChangeType.UPDATED));
+            results.add(new BulkItemResultDto(i, id, 200, mapper.toDto(entity)));
+        }
+        return results;
+    }
+
+    @Transactional
+    public List<BulkItemResultDto> deleteComponents(List<Long> ids, Long ownerUserId) {
+        List<ComponentEntity> found = ids.isEmpty() ? List.of() : repo.findByOwnerUserIdAndIdIn(ownerUserId, ids);
+        if (!found.isEmpty()) {
+            repo.deleteByOwnerUserIdAndIdIn(ownerUserId, found.stream().map(ComponentEntity::getId).toList());
+        }
+        Map<Long, ComponentEntity> deleted = found.stream()
+                .collect(Collectors.toMap(ComponentEntity::getId, Function.identity()));
+
+        List<BulkItemResultDto> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            if (deleted.containsKey(id)) {
+                events.publishEvent(new ComponentChangedEvent(ownerUserId, id, ChangeType.DELETED));
+                results.add(new BulkItemResultDto(i, id, 204, null));
+            } else {
+                results.add(new BulkItemResultDto(i, id, 404, null));
+            }
+        }
+        return results;
+    }
 
-        return repo.findByOwnerUserIdAndId(ownerUserId, componentId)
-                .map(entity -> {
-                    component.setId(componentId);
-                    component.setOwnerUserId(ownerUserId);
+    @Transactional
+    public Optional<ComponentDto> updateComponent(Long componentId, Long ownerUserId, ComponentDto component,
+                                                  Long expectedVersion) {
+        return applyUpdate(componentId, ownerUserId, ComponentPatch.values(component), expectedVersion);
+    }
 
-                    return mapper.toDto(repo.save(mapper.toEntity(component)));
-                });
+    @Transactional
+    public Optional<ComponentDto> patchComponent(Long componentId, Long ownerUserId, Map<String, Object> values,
+                                                 Long expectedVersion) {
+        if (values.isEmpty()) {
+            Optional<ComponentEntity> current = repo.findByOwnerUserIdAndId(ownerUserId, componentId);
+            // nothing to write, but a stale If-Match still fails like it would on a real change
+            if (expectedVersion != null && current.isPresent() && expectedVersion != current.get().getVersion()) {
+                throw new OptimisticLockingFailureException(
+                        "Component " + componentId + " is no longer at version " + expectedVersion);
+            }
+            return current.map(mapper::toDto);
+        }
+        return applyUpdate(componentId, ownerUserId, values, expectedVersion);
+    }
+
+    private Optional<ComponentDto> applyUpdate(Long componentId, Long ownerUserId, Map<String, Object> values,
+                                               Long expectedVersion) {
+        if (repo.updateFields(ownerUserId, componentId, expectedVersion, values) == 0) {
+            // only the failure path pays for telling a stale version apart from a missing row
+            if (expectedVersion != null && repo.existsByOwnerUserIdAndId(ownerUserId, componentId)) {
+                throw new OptimisticLockingFailureException(
+                        "Component " + componentId + " is no longer at version " + expectedVersion);
+            }
+            return Optional.empty();
+        }
+        events.publishEvent(new ComponentChangedEvent(ownerUserId, componentId, ChangeType.UPDATED));
+        return repo.findByOwnerUserIdAndId(ownerUserId, componentId).map(mapper::toDto);
+    }
+
+    public OwnerCollectionStamp getCollectionStamp(Long ownerUserId) {
+        List<ComponentDto> cached = cache.getIfPresent(ownerUserId);
+        if (cached != null) return OwnerCollectionStamp.of(cached);
+        return singleFlight.execute("stamp", ownerUserId, null,
+                () -> readOnly.execute(status -> repo.stampByOwnerUserId(ownerUserId)));
     }
 
     public Optional<ComponentDto> getComponentById(Long ownerUserId, Long componentId) {
-        return repo.findById(componentId)
-                .filter(entity -> entity.getOwnerUserId().equals(ownerUserId))
-                .map(mapper::toDto);
+        List<ComponentDto> cached = cache.getIfPresent(ownerUserId);
+        if (cached != null) {
+            return cached.stream()
+                    .filter(dto -> componentId.equals(dto.getId()))
+                    .findFirst();
+        }
+        return singleFlight.execute("by-id", ownerUserId, componentId, () -> readOnly.execute(status ->
+                repo.findByOwnerUserIdAndId(ownerUserId, componentId).map(mapper::toDto)));
     }
 
     @Transactional
-    public boolean deleteComponentById(Long ownerUserId, Long componentId) {
-        Optional<ComponentEntity> component = repo.findById(componentId);
-        if (component.isEmpty() || !component.get().getOwnerUserId().equals(ownerUserId)) {
+    public boolean deleteComponentById(Long ownerUserId, Long componentId, Long expectedVersion) {
+        if (repo.deleteOwned(ownerUserId, componentId, expectedVersion) == 0) {
+            if (expectedVersion != null && repo.existsByOwnerUserIdAndId(ownerUserId, componentId)) {
+                throw new OptimisticLockingFailureException(
+                        "Component " + componentId + " is no longer at version " + expectedVersion);
+            }
             return false;
         }
-        repo.delete(component.get());
+        events.publishEvent(new ComponentChangedEvent(ownerUserId, componentId, ChangeType.DELETED));
         return true;
     }
 }
@@ -0,0 +1,64 @@
+package com.component.startup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Logs the time from JVM start until the readiness probe turns green. The build's fast-start profile
+ * uses the report file and exit flag to measure it without keeping the service running.
+ */
+@Component
+public class TimeToReadyReporter {
+
+    private static final Logger log = LoggerFactory.getLogger(TimeToReadyReporter.class);
+
+    private final ConfigurableApplicationContext context;
+    private final boolean exitWhenReady;
+    private final String reportFile;
+    private final String label;
+
+    public TimeToReadyReporter(ConfigurableApplicationContext context,
+                               @Value("${app.startup.exit-when-ready:false}") boolean exitWhenReady,
+                               @Value("${app.startup.report-file:}") String reportFile,
+                               @Value("${app.startup.report-label:default}") String label) {
+        this.context = context;
+        this.exitWhenReady = exitWhenReady;
+        this.reportFile = reportFile;
+        this.label = label;
+    }
+
+    @EventListener
+    public void onReadiness(AvailabilityChangeEvent<ReadinessState> event) {
+        if (event.getState() != ReadinessState.ACCEPTING_TRAFFIC) return;
+        long millis = ManagementFactory.getRuntimeMXBean().getUptime();
+        log.info("Ready to accept traffic {} ms after JVM start ({})", millis, label);
+
+        if (!reportFile.isBlank()) {
+            try {
+                Files.writeString(Path.of(reportFile), label + " " + millis + " ms" + System.lineSeparator(),
+                        StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        if (exitWhenReady) {
+            // not on the thread that is still inside SpringApplication.run
+            Thread.ofPlatform().start(() -> System.exit(SpringApplication.exit(context)));
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.component.startup;
+
+import com.component.auth.JwtParserService;
+import com.component.dto.ComponentDto;
+import com.component.mapper.ComponentMapper;
+import com.component.model.ComponentEntity;
+import com.component.repository.ComponentRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs synthetic requests through the hot path (token verification, mapping, JSON and read-only
+ * queries on every connection pool) before the service reports ready. Spring Boot only switches readiness to ACCEPTING_TRAFFIC
+ * after all application runners have returned, so the first real requests meet compiled code and
+ * open pool connections instead of p99 spikes.
+ */
+@Component
+public class WarmUpRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmUpRunner.class);
+    // owner ids come from signed tokens and are positive, so the warm-up never reads anyone's data
+    private static final long WARMUP_OWNER = -1L;
+    private static final int COMPONENTS = 20;
+
+    private final JwtParserService jwtParserService;
+    private final ComponentMapper mapper;
+    private final ObjectMapper objectMapper;
+    private final ComponentRepository repo;
+    private final TransactionTemplate readOnly;
+    private final TransactionTemplate readWrite;
+    private final MeterRegistry meterRegistry;
+    private final String secret;
+    private final boolean enabled;
+    private final int iterations;
+    private final int queries;
+    private final int queryThreads;
+    private final boolean routing;
+    private final int replicaQueryThreads;
+    private final Duration maxDuration;
+
+    public WarmUpRunner(JwtParserService jwtParserService, ComponentMapper mapper, ObjectMapper objectMapper,
+                        ComponentRepository repo, PlatformTransactionManager transactionManager,
+                        MeterRegistry meterRegistry,
+                        @Value("${app.jwt.secret}") String secret,
+                        @Value("${app.warmup.enabled:true}") boolean enabled,
+                        @Value("${app.warmup.iterations:20000}") int iterations,
+                        @Value("${app.warmup.queries:200}") int queries,
+                        @Value("${app.warmup.query-threads:5}") int queryThreads,
+                        @Value("${app.datasource.routing.enabled:false}") boolean routing,
+                        @Value("${app.warmup.replica-query-threads:5}") int replicaQueryThreads,
+                        @Value("${app.warmup.max-duration:30s}") Duration maxDuration) {
+        this.jwtParserService = jwtParserService;
+        this.mapper = mapper;
+        this.objectMapper = objectMapper;
+        this.repo = repo;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.readWrite = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.secret = secret;
+        this.enabled = enabled;
+        this.iterations = iterations;
+        this.queries = queries;
+        this.queryThreads = queryThreads;
+        this.routing = routing;
+        this.replicaQueryThreads = replicaQueryThreads;
+        this.maxDuration = maxDuration;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (!enabled) return;
+
+        long start = System.nanoTime();
+        long deadline = start + maxDuration.toNanos();
+        String token = Jwts.builder()
+                .claim("ownerUserId", WARMUP_OWNER)
+                .expiration(new Date(System.currentTimeMillis() + maxDuration.toMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+        List<ComponentEntity> entities = entities();
+        TypeReference<List<ComponentDto>> listType = new TypeReference<>() { };
+
+        int done = 0;
+        while (done < iterations && System.nanoTime() < deadline) {
+            jwtParserService.parseOwnerUserId(token);
+            jwtParserService.resolveOwnerUserId(token);
+            List<ComponentDto> dtos = mapper.toDto(entities);
+            byte[] json = objectMapper.writeValueAsBytes(dtos);
+            List<ComponentDto> read = objectMapper.readValue(json, listType);
+            mapper.toEntity(read.get(done % COMPONENTS));
+            done++;
+        }
+        int queried = query(deadline);
+
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.info("Warm-up finished in {} ms: {} request iterations, {} queries on {} threads",
+                millis, done, queried, routing ? queryThreads + replicaQueryThreads : queryThreads);
+        TimeGauge.builder("warmup.duration", () -> millis, TimeUnit.MILLISECONDS)
+                .description("Time spent warming up before accepting traffic")
+                .register(meterRegistry);
+        registerIterations("request", done);
+        registerIterations("query", queried);
+    }
+
+    // Queries run on as many threads as each pool keeps idle connections, so every pool has opened
+    // them all by the time traffic arrives. With routing, read-only transactions go to the replica
+    // and read-write ones to the primary, so each pool gets its own workers and query budget.
+    // The database may not be reachable yet; the service still starts and the pools fill on demand.
+    private int query(long deadline) {
+        AtomicInteger done = new AtomicInteger();
+        AtomicBoolean failed = new AtomicBoolean();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            if (routing) {
+                query(workers, readWrite, queryThreads, deadline, done, failed);
+                query(workers, readOnly, replicaQueryThreads, deadline, done, failed);
+            } else {
+                query(workers, readOnly, queryThreads, deadline, done, failed);
+            }
+        }
+        return done.get();
+    }
+
+    private void query(ExecutorService workers, TransactionTemplate transaction, int threads, long deadline,
+                       AtomicInteger done, AtomicBoolean failed) {
+        AtomicInteger claimed = new AtomicInteger();
+        for (int i = 0; i < threads; i++) {
+            workers.submit(() -> {
+                while (!failed.get() && System.nanoTime() < deadline && claimed.getAndIncrement() < queries) {
+                    try {
+                        transaction.executeWithoutResult(status -> {
+                            repo.findByOwnerUserIdAndIdGreaterThanOrderByIdAsc(WARMUP_OWNER, 0L, Limit.of(50));
+                            repo.stampByOwnerUserId(WARMUP_OWNER);
+                        });
+                        done.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        if (failed.compareAndSet(false, true)) {
+                            log.warn("Warm-up queries stopped after {} iterations: {}", done.get(), e.getMessage());
+                        }
+                    }
+                }
+            });
+        }
+    }
+
+    private void registerIterations(String stage, int count) {
+        Gauge.builder("warmup.iterations", () -> count)
+                .description("Synthetic iterations run before accepting traffic")
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+
+    private static List<ComponentEntity> entities() {
+        List<ComponentEntity> entities = new ArrayList<>(COMPONENTS);
+        for (int i = 0; i < COMPONENTS; i++) {
+            ComponentEntity entity = new ComponentEntity();
+            entity.setId((long) i + 1);
+            entity.setOwnerUserId(WARMUP_OWNER);
+            entity.setName("Ballista " + i);
+            entity.setType(i % 2 == 0 ? "Weapon" : "Hull");
+            entity.setHealth(50);
+            entity.setDamageThreshold(10);
+            entity.setArmorClass(15);
+            entity.setDescription("Ranged Weapon Attack: +5 to hit, range 200/800 ft.");
+            entities.add(entity);
+        }
+        return entities;
+    }
+}
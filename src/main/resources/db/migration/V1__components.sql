@@ -0,0 +1,15 @@
+-- Creates the table on empty databases. Tables that Hibernate created earlier with ddl-auto=update
+-- are left as they are; V5_1 adds the version column they are missing.
+create sequence if not exists components_seq start with 1 increment by 50;
+
+create table if not exists components (
+    id               bigint       not null primary key,
+    owner_user_id    bigint,
+    name             varchar(255),
+    type             varchar(255),
+    health           integer      not null,
+    damage_threshold integer      not null,
+    armor_class      integer      not null,
+    description      varchar(255),
+    version          bigint       default 0 not null
+);
@@ -0,0 +1,3 @@
+-- Every query is scoped by owner; (owner_user_id, id) also serves keyset pagination.
+create index if not exists idx_components_owner_id on components (owner_user_id, id);
+create index if not exists idx_components_owner_type on components (owner_user_id, type, id);
@@ -0,0 +1,5 @@
+-- Each sortable column gets an owner-scoped (column, id) index so search pages are read in index order.
+create index if not exists idx_components_owner_name on components (owner_user_id, name, id);
+create index if not exists idx_components_owner_health on components (owner_user_id, health, id);
+create index if not exists idx_components_owner_damage on components (owner_user_id, damage_threshold, id);
+create index if not exists idx_components_owner_armor on components (owner_user_id, armor_class, id);
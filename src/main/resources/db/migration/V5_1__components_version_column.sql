@@ -0,0 +1,2 @@
+-- Tables created by ddl-auto=update before entities were versioned have no version column.
+alter table components add column if not exists version bigint default 0 not null;
@@ -0,0 +1,3 @@
+-- Descending name searches keep components without a name last, which a backward scan of
+-- (owner_user_id, name, id) cannot produce (it returns nulls first).
+create index if not exists idx_components_owner_name_desc on components (owner_user_id, name desc nulls last, id desc);
@@ -0,0 +1,45 @@
+-- Optional: only on the migration path of the 'partitioned' profile. Rebuilds components as a table
+-- hash-partitioned on owner_user_id, so every owner-scoped query reads one partition and its indexes.
+-- Existing rows are copied inside this migration's transaction; writers wait until it commits.
+create table components_partitioned (
+    id               bigint       not null,
+    owner_user_id    bigint       not null,
+    name             varchar(255),
+    type             varchar(255),
+    health           integer      not null,
+    damage_threshold integer      not null,
+    armor_class      integer      not null,
+    description      varchar(255),
+    version          bigint       default 0 not null
+) partition by hash (owner_user_id);
+
+do $$
+begin
+    for i in 0..${partitions} - 1 loop
+        execute format('create table components_p%s partition of components_partitioned '
+                       'for values with (modulus %s, remainder %s)', i, ${partitions}, i);
+    end loop;
+end
+$$;
+
+-- Rows without an owner were never reachable through the API and cannot be routed to a partition.
+insert into components_partitioned
+select id, owner_user_id, name, type, health, damage_threshold, armor_class, description, version
+from components
+where owner_user_id is not null;
+
+drop table components;
+alter table components_partitioned rename to components;
+
+-- The partition key must be part of the primary key. Naming the constraint after the old
+-- (owner_user_id, id) index lets it serve that role instead of keeping a duplicate index.
+alter table components add constraint idx_components_owner_id primary key (owner_user_id, id);
+create index idx_components_owner_type on components (owner_user_id, type, id);
+create index idx_components_owner_name on components (owner_user_id, name, id);
+create index idx_components_owner_name_desc on components (owner_user_id, name desc nulls last, id desc);
+create index idx_components_owner_health on components (owner_user_id, health, id);
+create index idx_components_owner_damage on components (owner_user_id, damage_threshold, id);
+create index idx_components_owner_armor on components (owner_user_id, armor_class, id);
+create index idx_components_owner_name_prefix on components (owner_user_id, name varchar_pattern_ops);
+
+analyze components;
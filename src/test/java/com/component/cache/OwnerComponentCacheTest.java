@@ -0,0 +1,112 @@
+package com.component.cache;
+
+import com.component.dto.ComponentDto;
+import com.component.service.ComponentChangedEvent;
+import com.component.service.ComponentChangedEvent.ChangeType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.transaction.event.TransactionalEventListenerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OwnerComponentCacheTest {
+
+    private AnnotationConfigApplicationContext context;
+    private OwnerComponentCache cache;
+
+    @BeforeEach
+    void setUp() {
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(TransactionalEventListenerFactory.class);
+        context.registerBean(OwnerComponentCache.class,
+                () -> new OwnerComponentCache(1000, Duration.ofMinutes(5), new SimpleMeterRegistry()));
+        context.refresh();
+        cache = context.getBean(OwnerComponentCache.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    @Test
+    void loadsOncePerOwner() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(1L, id -> components(id, loads));
+        List<ComponentDto> second = cache.get(1L, id -> components(id, loads));
+
+        assertThat(loads).hasValue(1);
+        assertThat(second).extracting(ComponentDto::getOwnerUserId).containsOnly(1L);
+    }
+
+    @Test
+    void changeInvalidatesOnlyThatOwner() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(1L, id -> components(id, loads));
+        cache.get(2L, id -> components(id, loads));
+
+        context.publishEvent(new ComponentChangedEvent(1L, 10L, ChangeType.UPDATED));
+
+        assertThat(cache.getIfPresent(1L)).isNull();
+        assertThat(cache.getIfPresent(2L)).isNotNull();
+    }
+
+    @Test
+    void invalidatesOnlyAfterCommit() {
+        cache.get(1L, id -> components(id, new AtomicInteger()));
+
+        inTransaction(() -> {
+            context.publishEvent(new ComponentChangedEvent(1L, 10L, ChangeType.UPDATED));
+            // a read before the commit may still see the old rows, so the entry must stay until then
+            assertThat(cache.getIfPresent(1L)).isNotNull();
+        }, true);
+
+        assertThat(cache.getIfPresent(1L)).isNull();
+    }
+
+    @Test
+    void keepsEntryWhenTransactionRollsBack() {
+        cache.get(1L, id -> components(id, new AtomicInteger()));
+
+        inTransaction(() -> context.publishEvent(new ComponentChangedEvent(1L, 10L, ChangeType.DELETED)), false);
+
+        assertThat(cache.getIfPresent(1L)).isNotNull();
+    }
+
+    // drives the synchronizations the way a transaction manager does on commit or rollback
+    private static void inTransaction(Runnable work, boolean commit) {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            work.run();
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            if (commit) TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+            TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, commit
+                    ? TransactionSynchronization.STATUS_COMMITTED
+                    : TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+    }
+
+    private static List<ComponentDto> components(Long ownerUserId, AtomicInteger loads) {
+        loads.incrementAndGet();
+        ComponentDto dto = new ComponentDto();
+        dto.setId(10L);
+        dto.setOwnerUserId(ownerUserId);
+        dto.setName("Ballista");
+        return List.of(dto);
+    }
+}
@@ -0,0 +1,132 @@
+package com.component.cache;
+
+import com.component.service.ComponentChangedEvent;
+import com.component.service.ComponentChangedEvent.ChangeType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SingleFlight singleFlight = new SingleFlight(registry);
+
+    @Test
+    void concurrentIdenticalReadsShareOneLoad() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        CompletableFuture<String> leader = read("page", 1L, 0, () -> {
+            loads.incrementAndGet();
+            block(release);
+            return "rows";
+        });
+        awaitLoadStarted(loads, 1);
+        CompletableFuture<String> follower = read("page", 1L, 0, () -> {
+            loads.incrementAndGet();
+            return "other rows";
+        });
+        awaitFollowers("page", 1);
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("rows");
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("rows");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void readsWithDifferentArgumentsOrOwnersLoadSeparately() {
+        AtomicInteger loads = new AtomicInteger();
+
+        singleFlight.execute("page", 1L, 0, loads::incrementAndGet);
+        singleFlight.execute("page", 1L, 50, loads::incrementAndGet);
+        singleFlight.execute("page", 2L, 0, loads::incrementAndGet);
+
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void followersSeeTheLeadersFailure() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        CompletableFuture<String> leader = read("all", 1L, null, () -> {
+            loads.incrementAndGet();
+            block(release);
+            throw new IllegalStateException("database down");
+        });
+        awaitLoadStarted(loads, 1);
+        CompletableFuture<String> follower = read("all", 1L, null, () -> "rows");
+        awaitFollowers("all", 1);
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("database down");
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("database down");
+    }
+
+    @Test
+    void readAfterCommittedChangeDoesNotJoinOlderLoad() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        CompletableFuture<String> before = read("all", 1L, null, () -> {
+            loads.incrementAndGet();
+            block(release);
+            return "before";
+        });
+        awaitLoadStarted(loads, 1);
+
+        singleFlight.onComponentChanged(new ComponentChangedEvent(1L, 10L, ChangeType.UPDATED));
+        String after = singleFlight.execute("all", 1L, null, () -> {
+            loads.incrementAndGet();
+            return "after";
+        });
+        release.countDown();
+
+        assertThat(after).isEqualTo("after");
+        assertThat(before.get(5, TimeUnit.SECONDS)).isEqualTo("before");
+        assertThat(loads).hasValue(2);
+    }
+
+    private <T> CompletableFuture<T> read(String query, Long ownerUserId, Object args, Supplier<T> load) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Thread.ofVirtual().start(() -> {
+            try {
+                result.complete(singleFlight.execute(query, ownerUserId, args, load));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    private static void awaitLoadStarted(AtomicInteger loads, int count) {
+        await().atMost(Duration.ofSeconds(5)).until(() -> loads.get() == count);
+    }
+
+    private void awaitFollowers(String query, int count) {
+        await().atMost(Duration.ofSeconds(5)).until(() -> {
+            Counter counter = registry.find("component.singleflight").tags("query", query, "role", "follower").counter();
+            return counter != null && counter.count() == count;
+        });
+    }
+
+    private static void block(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.component.controller;
+
+import com.component.dto.ComponentDto;
+import com.component.repository.OwnerCollectionStamp;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ComponentETagsTest {
+
+    @Test
+    void expectedVersionIsNullWithoutPrecondition() {
+        assertThat(ComponentETags.expectedVersion(null, 7L)).isNull();
+        assertThat(ComponentETags.expectedVersion(" ", 7L)).isNull();
+        assertThat(ComponentETags.expectedVersion("*", 7L)).isNull();
+    }
+
+    @Test
+    void expectedVersionReadsTagsOfEveryFormat() {
+        assertThat(ComponentETags.expectedVersion("W/\"7-3\"", 7L)).isEqualTo(3L);
+        assertThat(ComponentETags.expectedVersion("W/\"7-3-cbor\"", 7L)).isEqualTo(3L);
+        assertThat(ComponentETags.expectedVersion("\"7-3-smile\"", 7L)).isEqualTo(3L);
+    }
+
+    @Test
+    void expectedVersionRoundTripsTheComponentTag() {
+        ComponentDto dto = component(42L, 5L);
+        String tag = ComponentETags.of(dto, request("application/cbor"));
+
+        assertThat(ComponentETags.expectedVersion(tag, 42L)).isEqualTo(5L);
+    }
+
+    @Test
+    void expectedVersionRejectsTagsThatCanNeverMatch() {
+        assertPreconditionFailed("W/\"8-3\"", 7L);
+        assertPreconditionFailed("W/\"7-x\"", 7L);
+        assertPreconditionFailed("\"7-3", 7L);
+        assertPreconditionFailed("W/\"c1-7-21\"", 7L);
+    }
+
+    @Test
+    void componentTagNamesTheFormat() {
+        ComponentDto dto = component(7L, 3L);
+
+        assertThat(ComponentETags.of(dto, request(null))).isEqualTo("W/\"7-3\"");
+        assertThat(ComponentETags.of(dto, request("application/json"))).isEqualTo("W/\"7-3\"");
+        assertThat(ComponentETags.of(dto, request("application/cbor"))).isEqualTo("W/\"7-3-cbor\"");
+        assertThat(ComponentETags.of(dto, request("application/x-jackson-smile"))).isEqualTo("W/\"7-3-smile\"");
+    }
+
+    @Test
+    void collectionTagVariesWithFieldsAndFormat() {
+        OwnerCollectionStamp stamp = new OwnerCollectionStamp(2, 3, 5);
+
+        String all = ComponentETags.of(stamp, null, request(null));
+        String sparse = ComponentETags.of(stamp, List.of("id", "name"), request(null));
+        String otherSparse = ComponentETags.of(stamp, List.of("id", "type"), request(null));
+        String cbor = ComponentETags.of(stamp, null, request("application/cbor"));
+
+        assertThat(all).isEqualTo("W/\"c2-3-5\"");
+        assertThat(List.of(all, sparse, otherSparse, cbor)).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void collectionTagChangesWhenComponentsDo() {
+        // same count and highest id, but a different set or a newer version of one component
+        OwnerCollectionStamp before = OwnerCollectionStamp.of(List.of(component(1L, 0L), component(5L, 0L)));
+        OwnerCollectionStamp replaced = OwnerCollectionStamp.of(List.of(component(2L, 0L), component(5L, 0L)));
+        OwnerCollectionStamp updated = OwnerCollectionStamp.of(List.of(component(1L, 1L), component(5L, 0L)));
+
+        assertThat(before).isNotEqualTo(replaced).isNotEqualTo(updated);
+    }
+
+    @Test
+    void formatFollowsTheMostSpecificAcceptedType() {
+        assertThat(ComponentETags.format("*/*")).isEqualTo("json");
+        assertThat(ComponentETags.format("application/cbor, */*;q=0.5")).isEqualTo("cbor");
+        assertThat(ComponentETags.format("application/*, application/x-jackson-smile")).isEqualTo("smile");
+        assertThat(ComponentETags.format("not a media type")).isEqualTo("json");
+    }
+
+    private static void assertPreconditionFailed(String ifMatch, Long componentId) {
+        assertThatThrownBy(() -> ComponentETags.expectedVersion(ifMatch, componentId))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED));
+    }
+
+    private static WebRequest request(String accept) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (accept != null) request.addHeader(HttpHeaders.ACCEPT, accept);
+        return new ServletWebRequest(request);
+    }
+
+    private static ComponentDto component(Long id, Long version) {
+        ComponentDto dto = new ComponentDto();
+        dto.setId(id);
+        dto.setVersion(version);
+        return dto;
+    }
+}
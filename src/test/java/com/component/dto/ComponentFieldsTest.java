@@ -0,0 +1,53 @@
+package com.component.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.entry;
+
+class ComponentFieldsTest {
+
+    @Test
+    void noFieldsMeansAll() {
+        assertThat(ComponentFields.parse(null)).isNull();
+        assertThat(ComponentFields.parse(" ")).isNull();
+    }
+
+    @Test
+    void keepsRequestedOrderWithoutDuplicates() {
+        assertThat(ComponentFields.parse("name, id,type,id")).containsExactly("name", "id", "type");
+    }
+
+    @Test
+    void rejectsUnknownAndEmptyFields() {
+        assertThatIllegalArgumentException().isThrownBy(() -> ComponentFields.parse("id,secret"))
+                .withMessageContaining("secret");
+        assertThatIllegalArgumentException().isThrownBy(() -> ComponentFields.parse("id,,name"));
+        assertThatIllegalArgumentException().isThrownBy(() -> ComponentFields.parse("Name"));
+    }
+
+    @Test
+    void sliceContainsOnlyRequestedFieldsInOrder() {
+        ComponentDto dto = new ComponentDto();
+        dto.setId(7L);
+        dto.setOwnerUserId(1L);
+        dto.setName("Ballista");
+        dto.setHealth(50);
+        dto.setVersion(3L);
+
+        Map<String, Object> row = ComponentFields.slice(dto, List.of("version", "name", "health"));
+
+        assertThat(row).containsExactly(entry("version", 3L), entry("name", "Ballista"), entry("health", 50));
+    }
+
+    @Test
+    void sliceKeepsMissingValues() {
+        Map<String, Object> row = ComponentFields.slice(new ComponentDto(), List.of("id", "description"));
+
+        assertThat(row).containsOnlyKeys("id", "description").containsEntry("description", null);
+    }
+}
@@ -0,0 +1,54 @@
+package com.component.dto;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class PageCursorTest {
+
+    @Test
+    void idCursorRoundTrips() {
+        assertThat(PageCursor.decode(PageCursor.encode(12345L))).isEqualTo(12345L);
+    }
+
+    @Test
+    void absentIdCursorStartsAtTheBeginning() {
+        assertThat(PageCursor.decode(null)).isZero();
+        assertThat(PageCursor.decode("")).isZero();
+    }
+
+    @Test
+    void keysetCursorRoundTrips() {
+        String cursor = PageCursor.encode("-name", 42L, "Ballista: mk II");
+
+        assertThat(PageCursor.decode(cursor, "-name")).isEqualTo(new PageCursor.Keyset(42L, "Ballista: mk II"));
+    }
+
+    @Test
+    void keysetCursorKeepsAMissingValue() {
+        String cursor = PageCursor.encode("name", 42L, null);
+
+        assertThat(PageCursor.decode(cursor, "name")).isEqualTo(new PageCursor.Keyset(42L, null));
+    }
+
+    @Test
+    void absentKeysetCursorIsNull() {
+        assertThat(PageCursor.decode(null, "health")).isNull();
+    }
+
+    @Test
+    void keysetCursorBelongsToItsSort() {
+        String cursor = PageCursor.encode("health", 42L, "50");
+
+        assertThatIllegalArgumentException().isThrownBy(() -> PageCursor.decode(cursor, "-health"));
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        assertThatIllegalArgumentException().isThrownBy(() -> PageCursor.decode("not base64!"));
+        assertThatIllegalArgumentException().isThrownBy(() -> PageCursor.decode(PageCursor.encode("health", 1L, "x")));
+        assertThatIllegalArgumentException().isThrownBy(() -> PageCursor.decode("not base64!", "health"));
+        assertThatIllegalArgumentException().isThrownBy(() -> PageCursor.decode(PageCursor.encode(7L), "health"));
+    }
+}
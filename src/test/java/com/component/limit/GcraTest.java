@@ -0,0 +1,91 @@
+package com.component.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GcraTest {
+
+    private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+
+    // 10 per second: one token every 100 ms, at most 5 at once
+    private final Gcra gcra = new Gcra(10, 5);
+
+    @Test
+    void newBucketAllowsTheBurst() {
+        long now = 1_000_000_000L;
+        AtomicLong bucket = gcra.newBucket(now);
+
+        for (int remaining = 4; remaining >= 0; remaining--) {
+            assertThat(gcra.tryTake(bucket, now)).isEqualTo(new Gcra.Decision(true, remaining, 0));
+        }
+        assertThat(gcra.tryTake(bucket, now)).isEqualTo(new Gcra.Decision(false, 0, INTERVAL));
+    }
+
+    @Test
+    void deniedAttemptDoesNotConsumeAToken() {
+        long now = 1_000_000_000L;
+        AtomicLong bucket = gcra.newBucket(now);
+        drain(bucket, now);
+
+        gcra.tryTake(bucket, now);
+        gcra.tryTake(bucket, now + INTERVAL / 2);
+
+        assertThat(gcra.tryTake(bucket, now + INTERVAL).allowed()).isTrue();
+    }
+
+    @Test
+    void refillsAtTheConfiguredRate() {
+        long now = 1_000_000_000L;
+        AtomicLong bucket = gcra.newBucket(now);
+        drain(bucket, now);
+
+        Gcra.Decision early = gcra.tryTake(bucket, now + INTERVAL / 4);
+        assertThat(early.allowed()).isFalse();
+        assertThat(early.waitNanos()).isEqualTo(INTERVAL * 3 / 4);
+
+        assertThat(gcra.tryTake(bucket, now + INTERVAL)).isEqualTo(new Gcra.Decision(true, 0, 0));
+    }
+
+    @Test
+    void idleBucketIsFullAgainAfterRefillTime() {
+        long now = 1_000_000_000L;
+        AtomicLong bucket = gcra.newBucket(now);
+        drain(bucket, now);
+
+        long later = now + gcra.refillNanos();
+        assertThat(gcra.tryTake(bucket, later).remaining()).isEqualTo(gcra.burst() - 1);
+        // a bucket that waited any longer is no different from a new one
+        assertThat(gcra.tryTake(bucket, later + gcra.refillNanos()))
+                .isEqualTo(gcra.tryTake(gcra.newBucket(later + gcra.refillNanos()), later + gcra.refillNanos()));
+    }
+
+    @Test
+    void concurrentTakesNeverExceedTheBurst() throws Exception {
+        long now = 1_000_000_000L;
+        AtomicLong bucket = gcra.newBucket(now);
+        AtomicInteger allowed = new AtomicInteger();
+
+        try (ExecutorService workers = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 1000; i++) {
+                workers.submit(() -> {
+                    if (gcra.tryTake(bucket, now).allowed()) allowed.incrementAndGet();
+                });
+            }
+        }
+
+        assertThat(allowed).hasValue(gcra.burst());
+    }
+
+    private void drain(AtomicLong bucket, long now) {
+        for (int i = 0; i < gcra.burst(); i++) {
+            assertThat(gcra.tryTake(bucket, now).allowed()).isTrue();
+        }
+    }
+}
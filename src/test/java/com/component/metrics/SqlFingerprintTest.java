@@ -0,0 +1,42 @@
+package com.component.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlFingerprintTest {
+
+    @Test
+    void replacesLiterals() {
+        assertThat(SqlFingerprint.of("select * from components where owner_user_id = 42 and health >= -5 "
+                + "and name = 'O''Brien 12' limit 10"))
+                .isEqualTo("select * from components where owner_user_id = ? and health >= ? and name = ? limit ?");
+    }
+
+    @Test
+    void keepsDigitsInsideIdentifiers() {
+        assertThat(SqlFingerprint.of("select c1_0.id from components c1_0 where c1_0.health > 1.5"))
+                .isEqualTo("select c1_0.id from components c1_0 where c1_0.health > ?");
+    }
+
+    @Test
+    void inListsOfAnyLengthShareAFingerprint() {
+        String three = SqlFingerprint.of("delete from components where owner_user_id = ? and id in (1, 2, 3)");
+        String five = SqlFingerprint.of("delete from components where owner_user_id = ? and id in (?,?,?,?,?)");
+
+        assertThat(three).isEqualTo(five)
+                .isEqualTo("delete from components where owner_user_id = ? and id in (?...)");
+    }
+
+    @Test
+    void normalizesWhitespaceAndCase() {
+        assertThat(SqlFingerprint.of("  SELECT *\n\tFROM Components\n WHERE id = ?  "))
+                .isEqualTo("select * from components where id = ?");
+    }
+
+    @Test
+    void statementsDifferingInValuesOnlyMatch() {
+        assertThat(SqlFingerprint.of("update components set name='Ram', version=version+1 where id=7"))
+                .isEqualTo(SqlFingerprint.of("update components set name='Cannon', version=version+1 where id=12"));
+    }
+}
@@ -0,0 +1,119 @@
+package com.component.repository;
+
+import com.component.model.ComponentEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pages through every sort in both directions and checks that the pages add up to the full,
+ * correctly ordered result: no row skipped or repeated at page boundaries, ties broken by id
+ * and components without a name last.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:keyset;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ComponentRepositoryKeysetTest {
+
+    private static final long OWNER = 1L;
+    private static final int PAGE_SIZE = 3;
+
+    @Autowired
+    private ComponentRepository repo;
+
+    private List<ComponentEntity> owned;
+
+    @BeforeEach
+    void setUp() {
+        // duplicate values and missing names so pages end in the middle of ties and of the null block
+        String[] names = {"Ballista", null, "Cannon", "Ballista", null, "Anchor", "Cannon", "Ram", null, "Anchor"};
+        int[] health = {50, 10, 50, 30, 10, 70, 50, 30, 90, 10};
+        List<ComponentEntity> entities = new ArrayList<>();
+        for (int i = 0; i < names.length; i++) {
+            entities.add(entity(OWNER, names[i], health[i], i % 4));
+        }
+        entities.add(entity(2L, "Ballista", 50, 0));
+        repo.saveAll(entities);
+        owned = entities.stream().filter(e -> e.getOwnerUserId() == OWNER).toList();
+    }
+
+    static Stream<Arguments> sorts() {
+        return Arrays.stream(ComponentSortField.values())
+                .flatMap(sort -> Stream.of(Arguments.of(sort, false), Arguments.of(sort, true)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("sorts")
+    void pagesAddUpToTheOrderedResult(ComponentSortField sort, boolean descending) {
+        ComponentSearch search = new ComponentSearch(null, null, null, null, null, null, null, null, sort, descending);
+
+        List<Long> paged = new ArrayList<>();
+        ComponentSearch.After after = null;
+        while (true) {
+            List<ComponentEntity> page = repo.search(OWNER, search, after, PAGE_SIZE);
+            page.forEach(e -> paged.add(e.getId()));
+            if (page.size() < PAGE_SIZE) break;
+            ComponentEntity last = page.get(page.size() - 1);
+            after = search.after(last.getId(), sort.cursorValue(last));
+        }
+
+        assertThat(paged).containsExactlyElementsOf(expectedOrder(sort, descending));
+    }
+
+    @ParameterizedTest
+    @MethodSource("sorts")
+    void filtersApplyAcrossPages(ComponentSortField sort, boolean descending) {
+        ComponentSearch search = new ComponentSearch(null, null, 20, null, null, null, null, null, sort, descending);
+
+        List<ComponentEntity> first = repo.search(OWNER, search, null, PAGE_SIZE);
+        ComponentEntity last = first.get(first.size() - 1);
+        List<ComponentEntity> rest = repo.search(OWNER, search, search.after(last.getId(), sort.cursorValue(last)), 100);
+
+        assertThat(Stream.concat(first.stream(), rest.stream()))
+                .hasSize((int) owned.stream().filter(e -> e.getHealth() >= 20).count())
+                .allSatisfy(e -> assertThat(e.getHealth()).isGreaterThanOrEqualTo(20));
+    }
+
+    private List<Long> expectedOrder(ComponentSortField sort, boolean descending) {
+        Comparator<ComponentEntity> byId = Comparator.comparing(ComponentEntity::getId);
+        Comparator<ComponentEntity> order = switch (sort) {
+            case ID -> byId;
+            case NAME -> Comparator.comparing(ComponentEntity::getName,
+                    Comparator.nullsLast(descending ? Comparator.<String>reverseOrder() : Comparator.<String>naturalOrder()))
+                    .thenComparing(descending ? byId.reversed() : byId);
+            case HEALTH -> Comparator.comparingInt(ComponentEntity::getHealth).thenComparing(byId);
+            case DAMAGE_THRESHOLD -> Comparator.comparingInt(ComponentEntity::getDamageThreshold).thenComparing(byId);
+            case ARMOR_CLASS -> Comparator.comparingInt(ComponentEntity::getArmorClass).thenComparing(byId);
+        };
+        // names keep nulls last in both directions, so only the other sorts are simply reversed
+        if (descending && sort != ComponentSortField.NAME) order = order.reversed();
+        return owned.stream().sorted(order).map(ComponentEntity::getId).toList();
+    }
+
+    private static ComponentEntity entity(long ownerUserId, String name, int health, int armorClass) {
+        ComponentEntity entity = new ComponentEntity();
+        entity.setOwnerUserId(ownerUserId);
+        entity.setName(name);
+        entity.setType("Weapon");
+        entity.setHealth(health);
+        entity.setDamageThreshold(10);
+        entity.setArmorClass(armorClass);
+        return entity;
+    }
+}